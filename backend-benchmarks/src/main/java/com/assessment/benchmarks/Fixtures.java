@@ -0,0 +1,62 @@
+package com.assessment.benchmarks;
+
+import com.assessment.model.Question;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Questions shaped like the seeded ones (a couple of KB of HTML, a reference
+ * solution, starter code and a small test case array), so sizes and
+ * serialization costs resemble the real bank.
+ */
+public final class Fixtures {
+
+    public static final String SOLUTION = "class Solution {\n"
+            + "    public int solve(int A) {\n"
+            + "        int ans = 0, p = 7;\n"
+            + "        while (A > 0) { if ((A & 1) == 1) ans += p; p *= 7; A >>= 1; }\n"
+            + "        return ans;\n"
+            + "    }\n"
+            + "}";
+
+    public static final String TEST_CASES = "[{\"input\": \"3\", \"expected\": \"56\"},"
+            + " {\"input\": \"10\", \"expected\": \"2450\"}]";
+
+    private static final String DESCRIPTION = "<h3>Problem Description</h3><p>Given an integer <strong>A</strong>,"
+            + " find and return the <strong>A<sup>th</sup></strong> magic number.</p>"
+            + "<p>A magic number is a power of 7 or a sum of unique powers of 7.</p>".repeat(20);
+
+    private Fixtures() {
+    }
+
+    /**
+     * size questions with ids 1..size, one release per minute; the first
+     * releasedFraction of them are already released.
+     */
+    public static List<Question> questions(int size, double releasedFraction) {
+        LocalDateTime base = LocalDateTime.now().minusMinutes(Math.round(size * releasedFraction));
+        List<Question> questions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Question question = new Question();
+            question.setId((long) i + 1);
+            question.setTitle("Question " + (i + 1));
+            question.setDescription(DESCRIPTION);
+            question.setSolution(SOLUTION);
+            question.setExplanation("Write A in binary and read the bits as base-7 digits.");
+            question.setTestCases(TEST_CASES);
+            question.setStarterCode("public class Solution {\n    public int solve(int A) {\n        return 0;\n    }\n}");
+            question.setReleaseTime(base.plusMinutes(i));
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    // Configured the way Spring Boot configures the application's mapper (java.time support, ISO dates)
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.assessment.benchmarks;
+
+import com.assessment.dto.SubmissionResult;
+import com.assessment.judge.InMemoryJavaCompiler;
+import com.assessment.judge.JudgeMode;
+import com.assessment.judge.TestSuite;
+import com.assessment.service.JudgeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Judge latency on the calling thread: compiling a submission in memory, and
+ * an in-process judge run (compile, instrument, load, run every test case), with
+ * and without idle case runners to share the test cases. The JudgeExecutor
+ * queue and the verdict cache are left out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JudgeBenchmark {
+
+    @Param({"false", "true"})
+    public boolean parallelCases;
+
+    private InMemoryJavaCompiler compiler;
+    private JudgeService judgeService;
+    private TestSuite suite;
+
+    @Setup
+    public void setUp() {
+        compiler = new InMemoryJavaCompiler();
+
+        // The limits the application.properties defaults give it
+        judgeService = new JudgeService();
+        DirectFieldAccessor fields = new DirectFieldAccessor(judgeService);
+        fields.setPropertyValue("timeLimitMs", 2000L);
+        fields.setPropertyValue("cpuTimeLimitMs", 2000L);
+        fields.setPropertyValue("referenceTimeFactor", 5.0);
+        fields.setPropertyValue("minTimeLimitMs", 500L);
+        fields.setPropertyValue("parallelCases", parallelCases);
+        fields.setPropertyValue("caseWorkers", 0);
+        fields.setPropertyValue("parallelThresholdMs", 10.0);
+        judgeService.init();
+
+        suite = TestSuite.parse(1L, Fixtures.TEST_CASES, Fixtures.objectMapper());
+    }
+
+    @TearDown
+    public void tearDown() {
+        judgeService.shutdown();
+    }
+
+    @Benchmark
+    public Map<String, byte[]> compile() {
+        return compiler.compile(Fixtures.SOLUTION);
+    }
+
+    @Benchmark
+    public SubmissionResult judge() {
+        return judgeService.judge(suite, Fixtures.SOLUTION, JudgeMode.FULL);
+    }
+}
@@ -0,0 +1,33 @@
+package com.assessment.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// One login's password check at the BCrypt work factors worth considering for app.auth.bcrypt-strength
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+
+    @Param({ "4", "10", "12" })
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode("123456");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("123456", hash);
+    }
+}
@@ -0,0 +1,62 @@
+package com.assessment.benchmarks;
+
+import com.assessment.dto.QuestionDTO;
+import com.assessment.model.Question;
+import com.assessment.service.EncodedJson;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producing the body of GET /api/questions: Jackson on every request versus
+ * joining per-question bytes encoded ahead of time, plus the one-off gzip of
+ * the result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuestionJsonBenchmark {
+
+    @Param({ "10", "1000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<QuestionDTO> questions;
+    private List<EncodedJson> encoded;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Fixtures.objectMapper();
+        questions = new ArrayList<>(size);
+        encoded = new ArrayList<>(size);
+        for (Question question : Fixtures.questions(size, 0.5)) {
+            QuestionDTO dto = QuestionDTO.fromQuestion(question);
+            questions.add(dto);
+            encoded.add(new EncodedJson(objectMapper.writeValueAsBytes(dto)));
+        }
+        body = objectMapper.writeValueAsBytes(questions);
+    }
+
+    @Benchmark
+    public byte[] jacksonList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(questions);
+    }
+
+    @Benchmark
+    public byte[] joinEncoded() {
+        return EncodedJson.arrayOf(encoded).identity();
+    }
+
+    @Benchmark
+    public byte[] gzipList() {
+        return new EncodedJson(body).gzip();
+    }
+}
@@ -0,0 +1,40 @@
+package com.assessment.benchmarks;
+
+import com.assessment.dto.QuestionDTO;
+import com.assessment.model.Question;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of mapping one entity to the DTO students or admins receive
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuestionMappingBenchmark {
+
+    private Question question;
+
+    @Setup
+    public void setUp() {
+        question = Fixtures.questions(1, 1.0).get(0);
+    }
+
+    @Benchmark
+    public QuestionDTO locked() {
+        return QuestionDTO.locked(question);
+    }
+
+    @Benchmark
+    public QuestionDTO unlocked() {
+        return QuestionDTO.unlocked(question);
+    }
+
+    // Includes the clock read and release-time comparison
+    @Benchmark
+    public QuestionDTO fromQuestion() {
+        return QuestionDTO.fromQuestion(question);
+    }
+}
@@ -0,0 +1,78 @@
+package com.assessment.service;
+
+import com.assessment.benchmarks.Fixtures;
+import com.assessment.dto.QuestionDTO;
+import com.assessment.model.Question;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The time-release step behind GET /api/questions. perRequestMapping is the
+ * loop the endpoint used to run on every request; the other benchmarks are
+ * what QuestionCache does instead: build a snapshot on admin writes, and
+ * advance it (and re-join its JSON) at each release boundary.
+ *
+ * Lives in the service package to reach the package-private snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuestionSnapshotBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int size;
+
+    private List<Question> questions;
+    private Function<QuestionDTO, EncodedJson> encoder;
+    private QuestionCache.Snapshot snapshot;
+    private long now;
+
+    @Setup
+    public void setUp() {
+        questions = Fixtures.questions(size, 0.5);
+        ObjectMapper objectMapper = Fixtures.objectMapper();
+        encoder = question -> {
+            try {
+                return new EncodedJson(objectMapper.writeValueAsBytes(question));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        now = System.currentTimeMillis();
+        snapshot = QuestionCache.Snapshot.of(questions, encoder, now, 1);
+    }
+
+    @Benchmark
+    public List<QuestionDTO> perRequestMapping() {
+        List<QuestionDTO> view = new ArrayList<>(questions.size());
+        for (Question question : questions) {
+            view.add(QuestionDTO.fromQuestion(question));
+        }
+        return view;
+    }
+
+    // Includes encoding every question's JSON, as an admin write does
+    @Benchmark
+    public QuestionCache.Snapshot buildSnapshot() {
+        return QuestionCache.Snapshot.of(questions, encoder, now, 2);
+    }
+
+    @Benchmark
+    public List<QuestionDTO> advanceSnapshot() {
+        return snapshot.advance(now, 2).studentView;
+    }
+
+    @Benchmark
+    public EncodedJson advanceSnapshotJson() {
+        return snapshot.advance(now, 2).studentJson();
+    }
+}
@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Startup benchmark: time from launching the JVM to the first successful GET /api/questions.
+#
+#   mvn -Pfast-startup clean package -DskipTests
+#   scripts/startup-benchmark.sh [runs]
+#
+# Compares the plain fat jar against the AOT + CDS layout in target/cds (skipped when that
+# has not been built). Each run uses a fresh in-memory database on its own port, so results
+# do not depend on what is in data/. Prints min / median / max in milliseconds.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+JAR=target/coding-assessment-platform-1.0.0-exec.jar
+URL="http://localhost:$PORT/api/questions"
+
+now_ms() { date +%s%3N; }
+
+# Launch "$@" from the given directory and print milliseconds until the first 200 from $URL
+time_to_first_response() {
+    local dir=$1; shift
+    local start pid
+    start=$(now_ms)
+    (cd "$dir" && exec "$@" --server.port="$PORT" --spring.datasource.url=jdbc:h2:mem:bench \
+        >/tmp/startup-benchmark.log 2>&1) &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited before serving; see /tmp/startup-benchmark.log" >&2
+            return 1
+        fi
+        sleep 0.02
+    done
+    echo $(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+# Run a variant $RUNS times and print its label with min / median / max
+benchmark() {
+    local label=$1; shift
+    local times=()
+    for _ in $(seq "$RUNS"); do
+        times+=("$(time_to_first_response "$@")")
+    done
+    local sorted
+    sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+    printf '%-12s min %6d ms   median %6d ms   max %6d ms   (%d runs)\n' "$label" \
+        "${sorted[0]}" "${sorted[$(( RUNS / 2 ))]}" "${sorted[$(( RUNS - 1 ))]}" "$RUNS"
+}
+
+if curl -s -o /dev/null "$URL"; then
+    echo "port $PORT is already in use; set PORT to a free one" >&2
+    exit 1
+fi
+if [ ! -f "$JAR" ]; then
+    echo "$JAR not found; build it first (mvn -Pfast-startup clean package -DskipTests)" >&2
+    exit 1
+fi
+
+benchmark "fat jar" . java -jar "$JAR"
+if [ -f target/cds/app.jsa ]; then
+    benchmark "AOT + CDS" target/cds java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -jar app.jar
+else
+    echo "target/cds/app.jsa not found; build with -Pfast-startup to compare AOT + CDS" >&2
+fi
@@ -0,0 +1,73 @@
+package com.assessment.config;
+
+import com.assessment.service.AuthTokenService;
+import com.assessment.service.AuthenticatedUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Turns the login state into a Spring Security authentication for each
+ * request. In "token" mode the user comes from the signed AUTH_TOKEN cookie
+ * and nothing is looked up on the server; in "session" mode from the
+ * attributes AuthController stores in the HTTP session.
+ */
+public class AuthenticationFilter extends OncePerRequestFilter {
+
+    private final AuthTokenService authTokenService;
+    private final boolean tokenMode;
+
+    public AuthenticationFilter(AuthTokenService authTokenService, boolean tokenMode) {
+        this.authTokenService = authTokenService;
+        this.tokenMode = tokenMode;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AuthenticatedUser user = tokenMode ? fromToken(request) : fromSession(request);
+
+        if (user != null) {
+            UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                    user, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.role())));
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(authentication);
+            SecurityContextHolder.setContext(context);
+        }
+        chain.doFilter(request, response);
+    }
+
+    private AuthenticatedUser fromToken(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (AuthTokenService.COOKIE_NAME.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                return authTokenService.verify(cookie.getValue());
+            }
+        }
+        return null;
+    }
+
+    private AuthenticatedUser fromSession(HttpServletRequest request) {
+        // Never create a session just to find out there is nobody signed in
+        HttpSession session = request.getSession(false);
+        if (session == null || session.getAttribute("username") == null) {
+            return null;
+        }
+        return new AuthenticatedUser((Long) session.getAttribute("userId"),
+                (String) session.getAttribute("username"), (String) session.getAttribute("role"));
+    }
+}
@@ -3,15 +3,29 @@ package com.assessment.config;
 import com.assessment.model.Question;
 import com.assessment.model.User;
 import com.assessment.repository.QuestionRepository;
+import com.assessment.repository.QuestionSeedState;
 import com.assessment.repository.UserRepository;
+import com.assessment.service.QuestionCache;
+import com.assessment.service.QuestionChangeLog;
+import com.assessment.service.SubmissionRejudger;
+import com.assessment.service.TestCaseStore;
+import com.assessment.service.VerdictCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Component
 public class DataSeeder implements CommandLineRunner {
@@ -25,10 +39,33 @@ public class DataSeeder implements CommandLineRunner {
         @Autowired
         private PasswordEncoder passwordEncoder;
 
+        @Autowired
+        private QuestionCache questionCache;
+
+        @Autowired
+        private TestCaseStore testCaseStore;
+
+        @Autowired
+        private QuestionChangeLog questionChangeLog;
+
+        @Autowired
+        private VerdictCache verdictCache;
+
+        @Autowired
+        private SubmissionRejudger submissionRejudger;
+
         @Override
         public void run(String... args) throws Exception {
                 seedAdminUser();
-                seedQuestions();
+                List<Long> changedSuites = seedQuestions();
+                // Run every reference solution now rather than on the first submission
+                testCaseStore.loadAll(questionRepository.findAll());
+                questionCache.reload();
+                // Verdicts reached against the seed's old test cases no longer hold, as after an edit
+                for (Long questionId : changedSuites) {
+                        verdictCache.invalidate(questionId);
+                        submissionRejudger.schedule(questionId);
+                }
         }
 
         private void seedAdminUser() {
@@ -42,10 +79,9 @@ public class DataSeeder implements CommandLineRunner {
                 }
         }
 
-        private void seedQuestions() {
-                // Clean up existing questions to ensure only the requested 3 exist
-                questionRepository.deleteAll();
-                System.out.println("✓ Cleared all existing questions.");
+        // Ids of existing questions whose test cases or reference solution the seeds changed
+        private List<Long> seedQuestions() {
+                List<Question> seeds = new ArrayList<>();
 
                 // Question 1 - Magic Number (Base 7)
                 Question q1 = new Question();
@@ -113,7 +149,7 @@ public class DataSeeder implements CommandLineRunner {
                                                 "    }\n" +
                                                 "}");
                 q1.setReleaseTime(LocalDateTime.now().minusDays(1));
-                upsertQuestion(q1);
+                seeds.add(q1);
 
                 // Question 2 - The Avoidance Game
                 Question q2 = new Question();
@@ -232,7 +268,7 @@ public class DataSeeder implements CommandLineRunner {
                                                 "}");
                 q2.setExplanation("Recursive solution with bitmask memoization. Misere play.");
                 q2.setReleaseTime(LocalDateTime.now().minusDays(1));
-                upsertQuestion(q2);
+                seeds.add(q2);
 
                 // Question 3 - Sum of Pairwise Bitwise AND
                 Question q3 = new Question();
@@ -297,24 +333,74 @@ public class DataSeeder implements CommandLineRunner {
                                                 "}");
                 q3.setExplanation("Calculate contribution of each bit position.");
                 q3.setReleaseTime(LocalDateTime.now().minusDays(1));
-                upsertQuestion(q3);
+                seeds.add(q3);
+
+                return applySeeds(seeds);
+        }
+
+        /**
+         * Writes only what changed since the last boot. Each seeded row keeps a hash of
+         * the seed content it was written from; a seed whose hash matches is skipped,
+         * so ids and release times survive restarts and admin edits to a seeded
+         * question are kept until the built-in version itself changes.
+         *
+         * @return ids of updated questions whose test cases or reference solution changed
+         */
+        private List<Long> applySeeds(List<Question> seeds) {
+                long start = System.currentTimeMillis();
+                Map<String, Question> byTitle = new LinkedHashMap<>();
+                for (Question seed : seeds) {
+                        seed.setContentHash(contentHash(seed));
+                        byTitle.put(seed.getTitle(), seed);
+                }
+
+                Map<Long, Question> changed = new HashMap<>();
+                for (QuestionSeedState state : questionRepository.findSeedStatesByTitleIn(byTitle.keySet())) {
+                        Question seed = byTitle.remove(state.getTitle());
+                        if (seed != null && !seed.getContentHash().equals(state.getContentHash())) {
+                                changed.put(state.getId(), seed);
+                        }
+                }
+
+                List<Question> writes = new ArrayList<>(byTitle.values());
+                List<Long> changedSuites = new ArrayList<>();
+                for (Question target : questionRepository.findAllById(changed.keySet())) {
+                        Question seed = changed.get(target.getId());
+                        // The suite version covers both, so submissions judged before no longer match it
+                        if (!Objects.equals(target.getTestCases(), seed.getTestCases())
+                                        || !Objects.equals(target.getSolution(), seed.getSolution())) {
+                                changedSuites.add(target.getId());
+                        }
+                        target.setDescription(seed.getDescription());
+                        target.setSolution(seed.getSolution());
+                        target.setTestCases(seed.getTestCases());
+                        target.setExplanation(seed.getExplanation());
+                        target.setStarterCode(seed.getStarterCode());
+                        target.setContentHash(seed.getContentHash());
+                        writes.add(target);
+                }
+                if (!writes.isEmpty()) {
+                        questionChangeLog.saveAll(writes);
+                }
+
+                System.out.println("✓ Seeded questions in " + (System.currentTimeMillis() - start) + " ms ("
+                                + byTitle.size() + " created, " + changed.size() + " updated, "
+                                + (seeds.size() - byTitle.size() - changed.size()) + " unchanged)");
+                return changedSuites;
         }
 
-        private void upsertQuestion(Question question) {
-                java.util.Optional<Question> existing = questionRepository.findByTitle(question.getTitle());
-                if (existing.isPresent()) {
-                        Question target = existing.get();
-                        target.setDescription(question.getDescription());
-                        target.setSolution(question.getSolution());
-                        target.setTestCases(question.getTestCases());
-                        target.setExplanation(question.getExplanation());
-                        target.setReleaseTime(question.getReleaseTime());
-                        target.setStarterCode(question.getStarterCode()); // Ensure starter code is updated
-                        questionRepository.save(target);
-                        System.out.println("✓ Updated question: " + question.getTitle());
-                } else {
-                        questionRepository.save(question);
-                        System.out.println("✓ Created question: " + question.getTitle());
+        private static String contentHash(Question question) {
+                try {
+                        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                        for (String field : new String[] { question.getTitle(), question.getDescription(),
+                                        question.getSolution(), question.getExplanation(), question.getTestCases(),
+                                        question.getStarterCode() }) {
+                                digest.update(String.valueOf(field).getBytes(StandardCharsets.UTF_8));
+                                digest.update((byte) 0);
+                        }
+                        return HexFormat.of().formatHex(digest.digest());
+                } catch (NoSuchAlgorithmException e) {
+                        throw new IllegalStateException("SHA-256 is not available", e);
                 }
         }
 }
@@ -0,0 +1,113 @@
+package com.assessment.config;
+
+import com.assessment.service.JudgeExecutor;
+import com.assessment.service.PasswordVerifier;
+import com.assessment.service.QuestionCache;
+import com.assessment.service.RateLimiter;
+import com.assessment.service.RunnerPool;
+import com.assessment.service.SubmissionWriter;
+import com.assessment.service.VerdictCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the counters the services already keep as Micrometer meters, so
+ * they show up on /actuator/prometheus (on the management port) next to the
+ * HTTP, Hikari and JVM metrics Spring Boot records on its own. Meters read
+ * the live values at scrape time; nothing here is on a request path.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder questionMetrics(QuestionCache questionCache) {
+        return registry -> {
+            FunctionCounter.builder("questions.served", questionCache, QuestionCache::getServedLockedCount)
+                    .description("Questions served to students, by lock state")
+                    .tag("view", "locked")
+                    .register(registry);
+            FunctionCounter.builder("questions.served", questionCache, QuestionCache::getServedUnlockedCount)
+                    .description("Questions served to students, by lock state")
+                    .tag("view", "unlocked")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder judgeMetrics(JudgeExecutor judgeExecutor, VerdictCache verdictCache,
+            SubmissionWriter submissionWriter, RunnerPool runnerPool) {
+        return registry -> {
+            Gauge.builder("judge.queue.depth", judgeExecutor, JudgeExecutor::getQueueDepth)
+                    .description("Submissions waiting for a judge worker")
+                    .register(registry);
+            Gauge.builder("judge.active", judgeExecutor, JudgeExecutor::getActiveCount)
+                    .description("Submissions being judged")
+                    .register(registry);
+
+            Gauge.builder("judge.runners", runnerPool, RunnerPool::getSize)
+                    .description("Isolated runner processes alive or starting")
+                    .register(registry);
+            Gauge.builder("judge.runners.idle", runnerPool, RunnerPool::getIdleCount)
+                    .register(registry);
+            FunctionCounter.builder("judge.runners.started", runnerPool, RunnerPool::getStartedCount)
+                    .register(registry);
+            FunctionCounter.builder("judge.runners.retired", runnerPool, RunnerPool::getRetiredCount)
+                    .description("Runners stopped after max-jobs, a failure, leftover threads or idling")
+                    .register(registry);
+
+            Gauge.builder("verdict.cache.size", verdictCache, VerdictCache::size)
+                    .register(registry);
+            FunctionCounter.builder("verdict.cache.requests", verdictCache, VerdictCache::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("verdict.cache.requests", verdictCache, VerdictCache::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+
+            Gauge.builder("submissions.pending", submissionWriter, SubmissionWriter::getPendingCount)
+                    .description("Submission records queued for the background writer")
+                    .register(registry);
+            FunctionCounter.builder("submissions.written", submissionWriter, SubmissionWriter::getWrittenCount)
+                    .register(registry);
+            FunctionCounter.builder("submissions.dropped", submissionWriter, SubmissionWriter::getDroppedCount)
+                    .register(registry);
+        };
+    }
+
+    // auth.password.verify (the latency timer) is recorded by PasswordVerifier itself
+    @Bean
+    public MeterBinder authMetrics(PasswordVerifier passwordVerifier) {
+        return registry -> {
+            Gauge.builder("auth.password.verify.queue", passwordVerifier, verifier -> verifier.getStats().queueDepth())
+                    .description("Logins waiting for a password verification worker")
+                    .register(registry);
+            FunctionCounter.builder("auth.password.verify.rejected", passwordVerifier,
+                            verifier -> verifier.getStats().rejected())
+                    .description("Logins turned away with 429 because the verification queue was full")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(RateLimiter rateLimiter) {
+        return registry -> {
+            FunctionCounter.builder("rate.limit.rejected", rateLimiter, RateLimiter::getRejectedCount)
+                    .description("Requests answered with 429 because the client ran out of permits")
+                    .register(registry);
+            Gauge.builder("rate.limit.clients", rateLimiter, RateLimiter::getTrackedClientCount)
+                    .description("Clients with a partly used token bucket")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder statementMetrics() {
+        return registry -> FunctionCounter.builder("hibernate.statements", StatementCounter.class,
+                        counter -> StatementCounter.total())
+                .description("SQL statements prepared by Hibernate on any thread")
+                .register(registry);
+    }
+}
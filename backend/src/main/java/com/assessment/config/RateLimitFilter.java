@@ -0,0 +1,51 @@
+package com.assessment.config;
+
+import com.assessment.service.AuthenticatedUser;
+import com.assessment.service.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Answers 429 with Retry-After once a client runs out of permits for a
+ * route (see RateLimiter). Runs right after AuthenticationFilter, so limits
+ * keyed by user see who is signed in, and before the request costs
+ * anything more.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                ? user.username()
+                : null;
+
+        long retryAfterSeconds = rateLimiter.acquire(request.getMethod(), request.getRequestURI(),
+                request.getRemoteAddr(), username);
+        if (retryAfterSeconds > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many requests\"}");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
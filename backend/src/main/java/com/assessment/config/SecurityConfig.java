@@ -1,14 +1,23 @@
 package com.assessment.config;
 
+import com.assessment.service.AuthTokenService;
+import com.assessment.service.RateLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -20,31 +29,69 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // BCrypt work factor for new hashes; existing hashes are rehashed on the next successful login
+    @Value("${app.auth.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    // "session" keeps login state in the HTTP session; "token" uses a signed cookie and no server-side state
+    @Value("${app.auth.mode:session}")
+    private String authMode;
+
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        boolean tokenMode = "token".equalsIgnoreCase(authMode);
+
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session
-                        .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+                        .sessionCreationPolicy(tokenMode
+                                ? SessionCreationPolicy.STATELESS
+                                : SessionCreationPolicy.IF_REQUIRED)
+                        // Login is handled by AuthController, which rotates the session id itself
+                        .sessionFixation(fixation -> fixation.none()))
+                // AuthenticationFilter rebuilds the authentication on every request; never copy it into the session
+                .securityContext(context -> context
+                        .securityContextRepository(new RequestAttributeSecurityContextRepository()))
+                .addFilterBefore(new AuthenticationFilter(authTokenService, tokenMode),
+                        AnonymousAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(rateLimiter), AuthenticationFilter.class)
+                // Nobody signed in: 401, so clients can tell it apart from a 403 for a forbidden action
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authorizeHttpRequests(auth -> auth
+                        // Only served on the management port (management.server.*), which students cannot reach:
+                        // health checks and Prometheus scrapes need no login there, the other endpoints an admin.
+                        // Matched first, as the path patterns below cannot be applied to that port's requests
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/questions/student/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/questions").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/questions/summary").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/questions/{id}").permitAll()
                         // H2 Console access (for development)
                         .requestMatchers("/h2-console/**").permitAll()
-                        // Admin endpoints require authentication
-                        .requestMatchers("/api/admin/**").authenticated()
-                        .requestMatchers(HttpMethod.POST, "/api/questions").authenticated()
-                        .requestMatchers(HttpMethod.PUT, "/api/questions/**").authenticated()
-                        .requestMatchers(HttpMethod.DELETE, "/api/questions/**").authenticated()
+                        // Admin endpoints require an admin; signed-in students are authenticated too
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/api/questions/admin/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/questions").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/api/questions/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/api/questions/**").hasRole("ADMIN")
+                        // Submissions are credited to the signed-in student (or admin), so they need a sign-in
+                        .requestMatchers(HttpMethod.POST, "/api/submissions").authenticated()
                         .anyRequest().permitAll())
                 .headers(headers -> headers.frameOptions(frame -> frame.disable()));
 
@@ -0,0 +1,37 @@
+package com.assessment.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the SQL statements Hibernate prepares, per thread and in total.
+ * Hibernate creates this class itself (see hibernate.session_factory.statement_inspector
+ * in application.properties), so the counts live in static state that
+ * StatementMetricsFilter and MetricsConfig read. Statements are passed
+ * through unchanged.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CURRENT = ThreadLocal.withInitial(() -> new int[1]);
+    private static final LongAdder TOTAL = new LongAdder();
+
+    @Override
+    public String inspect(String sql) {
+        CURRENT.get()[0]++;
+        TOTAL.increment();
+        return sql;
+    }
+
+    // Statements prepared on this thread since the last call, resetting the count
+    public static int takeCount() {
+        int[] count = CURRENT.get();
+        int taken = count[0];
+        count[0] = 0;
+        return taken;
+    }
+
+    public static long total() {
+        return TOTAL.sum();
+    }
+}
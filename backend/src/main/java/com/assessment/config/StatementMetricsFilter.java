@@ -0,0 +1,46 @@
+package com.assessment.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued, by route, as the
+ * hibernate.statements.per.request distribution. Counts statements on the
+ * request thread only; work handed to the judge or submission writer
+ * threads is not attributed to the request.
+ */
+@Component
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Whatever ran on this pooled thread before belongs to someone else
+        StatementCounter.takeCount();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = StatementCounter.takeCount();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("hibernate.statements.per.request")
+                    .description("SQL statements prepared while handling one request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+}
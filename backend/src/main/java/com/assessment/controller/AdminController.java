@@ -0,0 +1,65 @@
+package com.assessment.controller;
+
+import com.assessment.service.PasswordVerifier;
+import com.assessment.service.QuestionArchive;
+import com.assessment.service.StudentClaimService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private PasswordVerifier passwordVerifier;
+
+    @Autowired
+    private QuestionArchive questionArchive;
+
+    @Autowired
+    private StudentClaimService studentClaimService;
+
+    // GET password verification latency, rejections and pool load
+    @GetMapping("/stats/auth")
+    public ResponseEntity<PasswordVerifier.Stats> getAuthStats() {
+        return ResponseEntity.ok(passwordVerifier.getStats());
+    }
+
+    // DELETE a Student ID's claim so a student who lost their browser's claim token can sign in again
+    @DeleteMapping("/students/{studentId}/claim")
+    public ResponseEntity<Void> releaseStudent(@PathVariable String studentId) {
+        return studentClaimService.release(studentId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    // POST a question archive (NDJSON or a JSON array); upserts by title, all or nothing
+    @PostMapping(value = "/questions/import",
+            consumes = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<?> importQuestions(HttpServletRequest request) throws IOException {
+        try {
+            return ResponseEntity.ok(questionArchive.importFrom(request.getInputStream()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // GET every question as NDJSON, streamed from a database cursor
+    @GetMapping(value = "/questions/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportQuestions() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("questions.ndjson").build().toString())
+                .body(questionArchive::exportTo);
+    }
+}
@@ -2,66 +2,178 @@ package com.assessment.controller;
 
 import com.assessment.dto.LoginRequest;
 import com.assessment.dto.LoginResponse;
+import com.assessment.dto.StudentLoginRequest;
 import com.assessment.model.User;
 import com.assessment.repository.UserRepository;
+import com.assessment.service.AuthTokenService;
+import com.assessment.service.AuthenticatedUser;
+import com.assessment.service.PasswordVerifier;
+import com.assessment.service.StudentClaimService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final int MAX_STUDENT_ID_LENGTH = 64;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordVerifier passwordVerifier;
+
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    @Autowired
+    private StudentClaimService studentClaimService;
+
+    @Value("${app.auth.retry-after-seconds:2}")
+    private int retryAfterSeconds;
 
+    @Value("${app.auth.mode:session}")
+    private String authMode;
+
+    // Password checks run on the verification pool so a burst of logins cannot tie up request threads
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(
             @RequestBody LoginRequest request,
-            HttpSession session) {
+            HttpServletRequest httpRequest) {
 
         Optional<User> optionalUser = userRepository.findByUsername(request.getUsername());
 
         if (optionalUser.isEmpty()) {
-            return ResponseEntity.ok(LoginResponse.failure("Invalid username or password"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.ok(LoginResponse.failure("Invalid username or password")));
         }
 
         User user = optionalUser.get();
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            return ResponseEntity.ok(LoginResponse.failure("Invalid username or password"));
+        CompletableFuture<Boolean> matches;
+        try {
+            matches = passwordVerifier.matches(request.getPassword(), user.getPassword());
+        } catch (RejectedExecutionException e) {
+            // Too many logins already waiting; fail fast so the client can retry shortly
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(LoginResponse.failure("Too many sign-ins in progress, please try again shortly")));
+        }
+
+        // Only the password work runs on the pool: nothing in here may touch the request or its session
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole());
+        if (!isTokenMode()) {
+            // SessionSignInAdvice starts the session once the result is back on a container thread
+            httpRequest.setAttribute(SessionSignInAdvice.PENDING_SIGN_IN, principal);
+        }
+        return matches.thenApply(valid -> {
+            if (!valid) {
+                return ResponseEntity.ok(LoginResponse.failure("Invalid username or password"));
+            }
+
+            // Stored hash was made with a different work factor; replace it while we have the password
+            if (passwordVerifier.needsRehash(user.getPassword())) {
+                user.setPassword(passwordVerifier.encode(request.getPassword()));
+                userRepository.save(user);
+            }
+
+            LoginResponse body = LoginResponse.success(user.getUsername(), user.getRole());
+            if (isTokenMode()) {
+                // Everything the server needs travels in the signed cookie; nothing is stored here
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.SET_COOKIE, authTokenService.cookieFor(principal).toString())
+                        .body(body);
+            }
+            return ResponseEntity.ok(body);
+        });
+    }
+
+    /**
+     * Students have no password: they sign in with the Student ID they were
+     * given. The first sign-in claims the ID and gets a claim token back;
+     * later ones must send it (see StudentClaimService). The server issues
+     * the session (or token) here, and submissions are credited to the ID it
+     * carries, never to one sent with the request.
+     */
+    @PostMapping("/student")
+    public ResponseEntity<LoginResponse> studentLogin(
+            @RequestBody StudentLoginRequest request,
+            HttpServletRequest httpRequest) {
+        String studentId = request.getStudentId() != null ? request.getStudentId().trim() : "";
+        if (studentId.isEmpty() || studentId.length() > MAX_STUDENT_ID_LENGTH) {
+            return ResponseEntity.badRequest()
+                    .body(LoginResponse.failure("Student ID must be 1 to " + MAX_STUDENT_ID_LENGTH + " characters"));
+        }
+
+        // An admin's name as a Student ID would put a student on the admin's standing
+        String claimToken = userRepository.findByUsername(studentId).isPresent()
+                ? null
+                : studentClaimService.claim(studentId, request.getClaimToken());
+        if (claimToken == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(LoginResponse.failure(
+                    "This Student ID is already signed in on another browser; ask an invigilator to release it"));
+        }
+
+        LoginResponse body = LoginResponse.success(studentId, AuthenticatedUser.STUDENT_ROLE);
+        body.setClaimToken(claimToken);
+        AuthenticatedUser principal = new AuthenticatedUser(null, studentId, AuthenticatedUser.STUDENT_ROLE);
+        if (isTokenMode()) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, authTokenService.cookieFor(principal).toString())
+                    .body(body);
         }
 
-        // Store user info in session
-        session.setAttribute("userId", user.getId());
-        session.setAttribute("username", user.getUsername());
-        session.setAttribute("role", user.getRole());
+        startSession(httpRequest, principal);
+        return ResponseEntity.ok(body);
+    }
 
-        return ResponseEntity.ok(LoginResponse.success(user.getUsername(), user.getRole()));
+    // Store the user in the session, under a new id so a session id planted before login is useless
+    static void startSession(HttpServletRequest httpRequest, AuthenticatedUser user) {
+        HttpSession session = httpRequest.getSession();
+        httpRequest.changeSessionId();
+        session.setAttribute("userId", user.userId());
+        session.setAttribute("username", user.username());
+        session.setAttribute("role", user.role());
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<LoginResponse> logout(HttpSession session) {
-        session.invalidate();
-        return ResponseEntity.ok(new LoginResponse(true, "Logged out successfully", null, null));
+    public ResponseEntity<LoginResponse> logout(HttpServletRequest httpRequest) {
+        HttpSession session = httpRequest.getSession(false);
+        if (session != null) {
+            session.invalidate();
+        }
+        LoginResponse body = new LoginResponse(true, "Logged out successfully", null, null);
+        if (isTokenMode()) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, authTokenService.clearingCookie().toString())
+                    .body(body);
+        }
+        return ResponseEntity.ok(body);
     }
 
+    // Works in both modes: the authentication filter resolves the user from the session or the token
     @GetMapping("/check")
-    public ResponseEntity<LoginResponse> checkAuth(HttpSession session) {
-        String username = (String) session.getAttribute("username");
-        String role = (String) session.getAttribute("role");
-
-        if (username != null) {
-            return ResponseEntity.ok(LoginResponse.success(username, role));
+    public ResponseEntity<LoginResponse> checkAuth(@AuthenticationPrincipal AuthenticatedUser user) {
+        if (user != null) {
+            return ResponseEntity.ok(LoginResponse.success(user.username(), user.role()));
         } else {
             return ResponseEntity.ok(LoginResponse.failure("Not authenticated"));
         }
     }
+
+    private boolean isTokenMode() {
+        return "token".equalsIgnoreCase(authMode);
+    }
 }
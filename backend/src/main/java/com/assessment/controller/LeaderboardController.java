@@ -0,0 +1,47 @@
+package com.assessment.controller;
+
+import com.assessment.dto.LeaderboardEntry;
+import com.assessment.dto.LeaderboardResponse;
+import com.assessment.service.AuthenticatedUser;
+import com.assessment.service.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+    private static final int MAX_LIMIT = 500;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    // GET top participants in rank order
+    @GetMapping
+    public ResponseEntity<LeaderboardResponse> getTop(@RequestParam(defaultValue = "50") int limit) {
+        int clamped = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(new LeaderboardResponse(
+                leaderboardService.getParticipantCount(), leaderboardService.top(clamped)));
+    }
+
+    // GET one participant's rank; by Student ID, or the signed-in user's when none is given
+    @GetMapping("/me")
+    public ResponseEntity<LeaderboardEntry> getMine(
+            @RequestParam(required = false) String studentId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        String id = studentId != null && !studentId.isBlank()
+                ? studentId.trim()
+                : user != null ? user.username() : null;
+        if (id == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        LeaderboardEntry entry = leaderboardService.entryFor(id);
+        if (entry == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(entry);
+    }
+}
@@ -1,97 +1,175 @@
 package com.assessment.controller;
 
+import com.assessment.diagnostics.SlowRequest;
+import com.assessment.diagnostics.SlowRequestLog;
 import com.assessment.dto.QuestionDTO;
 import com.assessment.dto.QuestionRequest;
+import com.assessment.dto.QuestionSummary;
+import com.assessment.dto.QuestionSummaryPage;
+import com.assessment.judge.TestSuite;
 import com.assessment.model.Question;
 import com.assessment.repository.QuestionRepository;
+import com.assessment.service.QuestionCache;
+import com.assessment.service.EncodedJson;
+import com.assessment.service.QuestionChangeLog;
+import com.assessment.service.QuestionEventBroadcaster;
+import com.assessment.service.SubmissionRejudger;
+import com.assessment.service.TestCaseStore;
+import com.assessment.service.VerdictCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/questions")
 public class QuestionController {
 
+    private static final int MAX_SUMMARY_LIMIT = 200;
+
     @Autowired
     private QuestionRepository questionRepository;
 
+    @Autowired
+    private QuestionCache questionCache;
+
+    @Autowired
+    private QuestionChangeLog questionChangeLog;
+
+    @Autowired
+    private QuestionEventBroadcaster questionEventBroadcaster;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @Autowired
+    private VerdictCache verdictCache;
+
+    @Autowired
+    private TestCaseStore testCaseStore;
+
+    @Autowired
+    private SubmissionRejudger submissionRejudger;
+
     // GET all questions (with time-release logic applied)
     @GetMapping
-    public ResponseEntity<List<QuestionDTO>> getAllQuestions() {
-        List<Question> questions = questionRepository.findAllByOrderByReleaseTimeAsc();
-        List<QuestionDTO> dtos = new ArrayList<>();
-
-        // Using i as loop variable per coding standards
-        for (int i = 0; i < questions.size(); i++) {
-            Question question = questions.get(i);
-            // Apply time-release logic
-            if (LocalDateTime.now().isBefore(question.getReleaseTime())) {
-                dtos.add(QuestionDTO.locked(question));
-            } else {
-                dtos.add(QuestionDTO.unlocked(question));
+    public ResponseEntity<byte[]> getAllQuestions(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Served as bytes encoded with the snapshot; locked/unlocked views flip at each release time
+        String eTag = questionCache.getETag();
+        return encoded(eTag, questionCache.getStudentQuestionsJson(), acceptEncoding);
+    }
+
+    // GET one page of id/title/release time, ordered by release time; pass nextCursor back for the next page
+    // Served from the question snapshot, so pages share its ETag and revalidate to 304 until something changes
+    @GetMapping("/summary")
+    public ResponseEntity<?> getQuestionSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        int clamped = Math.max(1, Math.min(limit, MAX_SUMMARY_LIMIT));
+        String eTag = questionCache.getETag();
+
+        LocalDateTime afterReleaseTime = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split(",", 2);
+                afterReleaseTime = LocalDateTime.parse(position[0]);
+                afterId = Long.valueOf(position[1]);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor"));
             }
         }
 
-        return ResponseEntity.ok(dtos);
+        // One extra item tells us whether there is a next page
+        List<QuestionSummary> items = questionCache.getSummaries(afterReleaseTime, afterId, clamped + 1);
+        String nextCursor = null;
+        if (items.size() > clamped) {
+            items = items.subList(0, clamped);
+            QuestionSummary last = items.get(clamped - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.releaseTime() + "," + last.id()).getBytes(StandardCharsets.UTF_8));
+        }
+        return revalidated(eTag).body(new QuestionSummaryPage(items, nextCursor));
+    }
+
+    // GET server-sent event stream: "unlock" when questions are released, "update" after admin edits
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQuestionEvents() {
+        return questionEventBroadcaster.subscribe();
     }
 
     // GET single question by ID (with time-release logic)
     @GetMapping("/{id}")
-    public ResponseEntity<QuestionDTO> getQuestionById(@PathVariable Long id) {
-        Optional<Question> optionalQuestion = questionRepository.findById(id);
+    public ResponseEntity<byte[]> getQuestionById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String eTag = questionCache.getETag();
+        EncodedJson question = questionCache.getStudentQuestionJson(id);
 
-        if (optionalQuestion.isEmpty()) {
+        if (question == null) {
             return ResponseEntity.notFound().build();
         }
 
-        Question question = optionalQuestion.get();
-
-        // Apply time-release logic
-        if (LocalDateTime.now().isBefore(question.getReleaseTime())) {
-            // Question is LOCKED - return only title and description
-            return ResponseEntity.ok(QuestionDTO.locked(question));
-        } else {
-            // Question is UNLOCKED - return full object with solution
-            return ResponseEntity.ok(QuestionDTO.unlocked(question));
-        }
+        // Locked questions come back without solution/explanation
+        return encoded(eTag, question, acceptEncoding);
     }
 
     // GET all questions for admin (no time-release restriction)
     @GetMapping("/admin/all")
     public ResponseEntity<List<QuestionDTO>> getAllQuestionsAdmin() {
-        List<Question> questions = questionRepository.findAllByOrderByReleaseTimeAsc();
-        List<QuestionDTO> dtos = new ArrayList<>();
-
-        for (int i = 0; i < questions.size(); i++) {
-            dtos.add(QuestionDTO.unlocked(questions.get(i)));
-        }
+        String eTag = questionCache.getETag();
+        return revalidated(eTag).body(questionCache.getAdminQuestions());
+    }
 
-        return ResponseEntity.ok(dtos);
+    // GET recent requests over the slow threshold with their per-phase timings (sort=recent|slowest)
+    @GetMapping("/admin/slow-requests")
+    public ResponseEntity<List<SlowRequest>> getSlowRequests(@RequestParam(defaultValue = "recent") String sort) {
+        return ResponseEntity.ok("slowest".equals(sort) ? slowRequestLog.slowest() : slowRequestLog.recent());
     }
 
     // POST - Create new question (Admin only)
     @PostMapping
-    public ResponseEntity<QuestionDTO> createQuestion(@RequestBody QuestionRequest request) {
+    public ResponseEntity<?> createQuestion(@RequestBody QuestionRequest request) {
         Question question = new Question();
         question.setTitle(request.getTitle());
         question.setDescription(request.getDescription());
         question.setSolution(request.getSolution());
         question.setExplanation(request.getExplanation());
+        question.setTestCases(request.getTestCases());
+        question.setStarterCode(request.getStarterCode());
         question.setReleaseTime(request.getReleaseTime());
 
-        Question saved = questionRepository.save(question);
+        // Reject unusable test cases or reference solutions before saving rather than at the first submission
+        TestSuite suite;
+        try {
+            suite = testCaseStore.prepare(question);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        Question saved = questionChangeLog.save(question);
+        testCaseStore.put(saved.getId(), suite);
+        questionCache.reload();
         return ResponseEntity.status(HttpStatus.CREATED).body(QuestionDTO.unlocked(saved));
     }
 
     // PUT - Update question (Admin only)
     @PutMapping("/{id}")
-    public ResponseEntity<QuestionDTO> updateQuestion(
+    public ResponseEntity<?> updateQuestion(
             @PathVariable Long id,
             @RequestBody QuestionRequest request) {
 
@@ -107,8 +185,30 @@ public class QuestionController {
         question.setSolution(request.getSolution());
         question.setExplanation(request.getExplanation());
         question.setReleaseTime(request.getReleaseTime());
+        // Fields the request leaves out keep their current value
+        if (request.getTestCases() != null) {
+            question.setTestCases(request.getTestCases());
+        }
+        if (request.getStarterCode() != null) {
+            question.setStarterCode(request.getStarterCode());
+        }
+
+        TestSuite suite;
+        try {
+            suite = testCaseStore.prepare(question);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
 
-        Question saved = questionRepository.save(question);
+        TestSuite previous = testCaseStore.get(id);
+        Question saved = questionChangeLog.save(question);
+        testCaseStore.put(saved.getId(), suite);
+        questionCache.reload();
+        verdictCache.invalidate(id);
+        // Verdicts reached against the old test cases no longer hold; judge those submissions again
+        if (previous == null || previous.getVersion() != suite.getVersion()) {
+            submissionRejudger.schedule(id);
+        }
         return ResponseEntity.ok(QuestionDTO.unlocked(saved));
     }
 
@@ -119,7 +219,47 @@ public class QuestionController {
             return ResponseEntity.notFound().build();
         }
 
-        questionRepository.deleteById(id);
+        questionChangeLog.delete(id);
+        testCaseStore.evict(id);
+        questionCache.reload();
+        verdictCache.invalidate(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Pre-encoded JSON, gzipped when the client accepts it; the gzip form gets its own strong ETag
+    private static ResponseEntity<byte[]> encoded(String eTag, EncodedJson json, String acceptEncoding) {
+        byte[] gzip = acceptsGzip(acceptEncoding) ? json.gzip() : null;
+        if (gzip == null) {
+            return revalidated(eTag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(json.identity());
+        }
+        return revalidated(eTag.substring(0, eTag.length() - 1) + "-gzip\"")
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(gzip);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // "gzip;q=0" explicitly refuses it
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    // 200 with the content version as ETag; Spring turns it into a bodyless 304 when If-None-Match matches
+    private static ResponseEntity.BodyBuilder revalidated(String eTag) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache());
+    }
 }
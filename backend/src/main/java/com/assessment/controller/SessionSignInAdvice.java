@@ -0,0 +1,48 @@
+package com.assessment.controller;
+
+import com.assessment.dto.LoginResponse;
+import com.assessment.service.AuthenticatedUser;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Finishes a session-mode password login on a container thread. The password
+ * check completes on the verification pool, and Spring dispatches its result
+ * back to the container before writing it; this runs then, so the request
+ * and its session are only touched by the thread that owns them. The account
+ * to sign in is left as a request attribute before the login goes async.
+ */
+@ControllerAdvice(assignableTypes = AuthController.class)
+public class SessionSignInAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String PENDING_SIGN_IN = SessionSignInAdvice.class.getName() + ".PENDING";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (!(body instanceof LoginResponse login) || !login.isSuccess()
+                || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        Object pending = httpRequest.getAttribute(PENDING_SIGN_IN);
+        if (pending instanceof AuthenticatedUser user) {
+            httpRequest.removeAttribute(PENDING_SIGN_IN);
+            AuthController.startSession(httpRequest, user);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,125 @@
+package com.assessment.controller;
+
+import com.assessment.dto.SubmissionRequest;
+import com.assessment.dto.SubmissionResult;
+import com.assessment.judge.JudgeMode;
+import com.assessment.judge.TestSuite;
+import com.assessment.judge.Verdict;
+import com.assessment.model.Submission;
+import com.assessment.service.AuthenticatedUser;
+import com.assessment.service.JudgeExecutor;
+import com.assessment.service.JudgeService;
+import com.assessment.service.QuestionCache;
+import com.assessment.service.SubmissionWriter;
+import com.assessment.service.TestCaseStore;
+import com.assessment.service.VerdictCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/submissions")
+public class SubmissionController {
+
+    @Autowired
+    private QuestionCache questionCache;
+
+    @Autowired
+    private TestCaseStore testCaseStore;
+
+    @Autowired
+    private JudgeService judgeService;
+
+    @Autowired
+    private JudgeExecutor judgeExecutor;
+
+    @Autowired
+    private VerdictCache verdictCache;
+
+    @Autowired
+    private SubmissionWriter submissionWriter;
+
+    @Value("${app.judge.retry-after-seconds:5}")
+    private int retryAfterSeconds;
+
+    @Value("${app.judge.response-timeout-ms:30000}")
+    private long responseTimeoutMs;
+
+    @Value("${app.judge.default-mode:FULL}")
+    private JudgeMode defaultMode;
+
+    // POST - Compile and run a submission against the question's test cases
+    // Judging happens on the judge pool; the request thread is released while it waits
+    @PostMapping
+    public CompletableFuture<ResponseEntity<SubmissionResult>> submit(
+            @RequestBody SubmissionRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        if (request.getQuestionId() == null || request.getCode() == null || request.getCode().isBlank()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+
+        // A locked question cannot be judged: the per-case report would give its test cases away early
+        long releaseMillis = questionCache.releaseMillisOf(request.getQuestionId());
+        if (releaseMillis < 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+        if (releaseMillis > System.currentTimeMillis()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+
+        // Test cases come pre-parsed from the store; no database read or JSON parsing per submission
+        TestSuite suite = testCaseStore.get(request.getQuestionId());
+
+        if (suite == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+
+        // FULL runs every test case, FAIL_FAST stops at the first failure
+        JudgeMode mode = request.getMode() != null ? request.getMode() : defaultMode;
+
+        // Identical code for the same test cases was judged before; answer without compiling
+        VerdictCache.Key key = VerdictCache.keyFor(suite.getQuestionId(), suite.getVersion(), mode,
+                request.getCode());
+        // Credited to whoever the session or token says is signed in: a student's ID or an admin's account
+        String studentId = user.username();
+
+        SubmissionResult cached = verdictCache.get(key);
+        if (cached != null) {
+            record(studentId, request.getCode(), suite, cached);
+            return CompletableFuture.completedFuture(ResponseEntity.ok(cached));
+        }
+
+        try {
+            return judgeExecutor.submit(() -> {
+                        SubmissionResult result = judgeService.judge(suite, request.getCode(), mode);
+                        verdictCache.put(key, result);
+                        return result;
+                    })
+                    // Backstop for code stuck in uninterruptible JDK calls that never reach a checkpoint
+                    .completeOnTimeout(SubmissionResult.failed(suite.getQuestionId(), Verdict.TIME_LIMIT_EXCEEDED,
+                            "Judging did not finish in time"), responseTimeoutMs, TimeUnit.MILLISECONDS)
+                    .thenApply(result -> {
+                        record(studentId, request.getCode(), suite, result);
+                        return ResponseEntity.ok(result);
+                    });
+        } catch (RejectedExecutionException e) {
+            // Judge queue is full; tell the client when to try again instead of queueing unboundedly
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .build());
+        }
+    }
+
+    // Persisted in the background (the response does not wait for the insert); standings follow once it is written
+    private void record(String studentId, String code, TestSuite suite, SubmissionResult result) {
+        submissionWriter.record(Submission.of(studentId, code, suite.getVersion(), result));
+    }
+}
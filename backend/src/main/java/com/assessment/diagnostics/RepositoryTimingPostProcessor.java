@@ -0,0 +1,45 @@
+package com.assessment.diagnostics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds an advice to every Spring Data repository proxy that charges the
+ * time spent in repository calls to the current request's trace. Nested
+ * calls (a repository default method calling another) are counted once.
+ */
+@Component
+public class RepositoryTimingPostProcessor implements BeanPostProcessor {
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static final MethodInterceptor TIMING = invocation -> {
+        int[] depth = DEPTH.get();
+        if (depth[0]++ > 0) {
+            try {
+                return invocation.proceed();
+            } finally {
+                depth[0]--;
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            depth[0]--;
+            RequestTrace.addRepository(System.nanoTime() - start);
+        }
+    };
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(TIMING)));
+        }
+        return bean;
+    }
+}
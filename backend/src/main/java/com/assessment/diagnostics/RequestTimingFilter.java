@@ -0,0 +1,122 @@
+package com.assessment.diagnostics;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Times every request from before the security filter chain to the end of
+ * the response and hands the slow ones, with their per-phase breakdown, to
+ * the SlowRequestLog. Requests that finish on the request thread only touch
+ * the reused per-thread RequestTrace, so unless they are slow they allocate
+ * nothing.
+ *
+ * Requests that go async (submissions waiting on the judge, logins waiting
+ * on password verification) are finished when the async work completes:
+ * a completion listener keeps their phase times until then, and only builds
+ * a record if the request turns out slow. Event streams stay open for a
+ * whole session by design and are not timed at all.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long startedAt = System.currentTimeMillis();
+        RequestTrace trace = RequestTrace.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long handlerEnd = System.nanoTime();
+            trace.end();
+            if (request.isAsyncStarted()) {
+                if (!isEventStream(request, response)) {
+                    request.getAsyncContext().addListener(new AsyncCompletion(trace, startedAt, request, handlerEnd));
+                }
+            } else if (slowRequestLog.isSlow(handlerEnd - trace.startNanos)) {
+                slowRequestLog.record(SlowRequest.of(trace, startedAt, request.getMethod(), route(request),
+                        response.getStatus(), handlerEnd, handlerEnd));
+            }
+        }
+    }
+
+    // SseEmitter has set the content type by the time the handler returns; the Accept header covers other streams
+    private static boolean isEventStream(HttpServletRequest request, HttpServletResponse response) {
+        String contentType = response.getContentType();
+        if (contentType != null) {
+            return contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+
+    // The per-thread trace is reused by the thread's next request, so its phase times are kept here
+    private final class AsyncCompletion implements AsyncListener {
+        private final long startNanos;
+        private final long dispatchNanos;
+        private final long writeNanos;
+        private final long repositoryNanos;
+        private final long mappingNanos;
+        private final long startedAt;
+        private final HttpServletRequest request;
+        private final long handlerEnd;
+
+        AsyncCompletion(RequestTrace trace, long startedAt, HttpServletRequest request, long handlerEnd) {
+            this.startNanos = trace.startNanos;
+            this.dispatchNanos = trace.dispatchNanos;
+            this.writeNanos = trace.writeNanos;
+            this.repositoryNanos = trace.repositoryNanos;
+            this.mappingNanos = trace.mappingNanos;
+            this.startedAt = startedAt;
+            this.request = request;
+            this.handlerEnd = handlerEnd;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            long end = System.nanoTime();
+            if (slowRequestLog.isSlow(end - startNanos)) {
+                int status = ((HttpServletResponse) event.getSuppliedResponse()).getStatus();
+                RequestTrace trace = RequestTrace.detached(startNanos, dispatchNanos, writeNanos, repositoryNanos,
+                        mappingNanos);
+                slowRequestLog.record(SlowRequest.of(trace, startedAt, request.getMethod(), route(request),
+                        status, handlerEnd, end));
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.assessment.diagnostics;
+
+/**
+ * Phase timestamps and accumulated durations for the request the current
+ * thread is handling. One instance per thread is reused for every request,
+ * so tracing allocates nothing unless the request turns out to be slow.
+ *
+ * The static hooks are no-ops on threads that are not handling a request
+ * (judge workers, the submission writer, startup), so they can be called
+ * from shared code unconditionally.
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = ThreadLocal.withInitial(RequestTrace::new);
+
+    boolean active;
+    long startNanos;
+    long dispatchNanos;
+    long writeNanos;
+    long repositoryNanos;
+    long mappingNanos;
+
+    private RequestTrace() {
+    }
+
+    // Time spent in repository calls, added by the repository proxies
+    public static void addRepository(long nanos) {
+        RequestTrace trace = CURRENT.get();
+        if (trace.active) {
+            trace.repositoryNanos += nanos;
+        }
+    }
+
+    // Time spent turning entities into DTOs and their encoded JSON
+    public static void addMapping(long nanos) {
+        RequestTrace trace = CURRENT.get();
+        if (trace.active) {
+            trace.mappingNanos += nanos;
+        }
+    }
+
+    // The request got past the filter chain and reached its handler
+    static void markDispatch() {
+        RequestTrace trace = CURRENT.get();
+        if (trace.active && trace.dispatchNanos == 0) {
+            trace.dispatchNanos = System.nanoTime();
+        }
+    }
+
+    // The handler returned and its body is about to be serialized
+    static void markWrite() {
+        RequestTrace trace = CURRENT.get();
+        if (trace.active && trace.writeNanos == 0) {
+            trace.writeNanos = System.nanoTime();
+        }
+    }
+
+    static RequestTrace begin() {
+        RequestTrace trace = CURRENT.get();
+        trace.active = true;
+        trace.startNanos = System.nanoTime();
+        trace.dispatchNanos = 0;
+        trace.writeNanos = 0;
+        trace.repositoryNanos = 0;
+        trace.mappingNanos = 0;
+        return trace;
+    }
+
+    void end() {
+        active = false;
+    }
+
+    // A detached trace, for a request that finished on another thread and turned out slow
+    static RequestTrace detached(long startNanos, long dispatchNanos, long writeNanos, long repositoryNanos,
+            long mappingNanos) {
+        RequestTrace trace = new RequestTrace();
+        trace.startNanos = startNanos;
+        trace.dispatchNanos = dispatchNanos;
+        trace.writeNanos = writeNanos;
+        trace.repositoryNanos = repositoryNanos;
+        trace.mappingNanos = mappingNanos;
+        return trace;
+    }
+}
@@ -0,0 +1,33 @@
+package com.assessment.diagnostics;
+
+/**
+ * One slow request and where its time went, in milliseconds. security is
+ * everything before the handler (filters, including Spring Security, and
+ * handler lookup); handler is the handler's own time net of repository and
+ * mapping; serialization is writing the response body; async is time spent
+ * waiting on another thread (judge, password verification) after the
+ * handler returned.
+ */
+public record SlowRequest(long startedAt, String method, String route, int status, double totalMs,
+        double securityMs, double repositoryMs, double mappingMs, double handlerMs, double serializationMs,
+        double asyncMs) {
+
+    static SlowRequest of(RequestTrace trace, long startedAt, String method, String route, int status,
+            long handlerEndNanos, long endNanos) {
+        long dispatch = trace.dispatchNanos != 0 ? trace.dispatchNanos : handlerEndNanos;
+        long write = trace.writeNanos != 0 ? trace.writeNanos : handlerEndNanos;
+        long handler = Math.max(0, write - dispatch - trace.repositoryNanos - trace.mappingNanos);
+        return new SlowRequest(startedAt, method, route, status,
+                ms(endNanos - trace.startNanos),
+                ms(dispatch - trace.startNanos),
+                ms(trace.repositoryNanos),
+                ms(trace.mappingNanos),
+                ms(handler),
+                ms(Math.max(0, handlerEndNanos - write)),
+                ms(endNanos - handlerEndNanos));
+    }
+
+    private static double ms(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,63 @@
+package com.assessment.diagnostics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The most recent requests that took longer than the threshold, in a
+ * fixed-size ring. Writers claim a slot with one atomic increment and
+ * overwrite whatever was there, so recording never blocks; a reader racing
+ * a writer may see a slot's old or new entry, which is fine for diagnostics.
+ */
+@Component
+public class SlowRequestLog {
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowRequest> slots;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowRequestLog(
+            @Value("${app.diagnostics.slow-request-ms:250}") long thresholdMs,
+            @Value("${app.diagnostics.slow-request-buffer-size:256}") int capacity) {
+        // Round up to a power of two so the slot index is a mask, not a division
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.thresholdNanos = thresholdMs * 1_000_000;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    void record(SlowRequest request) {
+        slots.set((int) (next.getAndIncrement() & mask), request);
+    }
+
+    // Newest first
+    public List<SlowRequest> recent() {
+        long end = next.get();
+        List<SlowRequest> requests = new ArrayList<>();
+        for (long i = end - 1; i >= 0 && i >= end - slots.length(); i--) {
+            SlowRequest request = slots.get((int) (i & mask));
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+
+    // The same entries, slowest first
+    public List<SlowRequest> slowest() {
+        List<SlowRequest> requests = recent();
+        requests.sort(Comparator.comparingDouble(SlowRequest::totalMs).reversed());
+        return requests;
+    }
+}
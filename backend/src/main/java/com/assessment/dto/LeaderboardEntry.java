@@ -0,0 +1,72 @@
+package com.assessment.dto;
+
+import com.assessment.leaderboard.Standing;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+public class LeaderboardEntry {
+    private int rank;
+    private String studentId;
+    private int solved;
+    private long penaltyMinutes;
+    private LocalDateTime lastSolvedAt;
+
+    public LeaderboardEntry() {
+    }
+
+    // rank is one-based
+    public static LeaderboardEntry of(int rank, Standing standing) {
+        LeaderboardEntry entry = new LeaderboardEntry();
+        entry.setRank(rank);
+        entry.setStudentId(standing.studentId());
+        entry.setSolved(standing.solved());
+        entry.setPenaltyMinutes(standing.penaltyMinutes());
+        if (standing.lastSolvedMillis() > 0) {
+            entry.setLastSolvedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(standing.lastSolvedMillis()),
+                    ZoneId.systemDefault()));
+        }
+        return entry;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public int getSolved() {
+        return solved;
+    }
+
+    public void setSolved(int solved) {
+        this.solved = solved;
+    }
+
+    public long getPenaltyMinutes() {
+        return penaltyMinutes;
+    }
+
+    public void setPenaltyMinutes(long penaltyMinutes) {
+        this.penaltyMinutes = penaltyMinutes;
+    }
+
+    public LocalDateTime getLastSolvedAt() {
+        return lastSolvedAt;
+    }
+
+    public void setLastSolvedAt(LocalDateTime lastSolvedAt) {
+        this.lastSolvedAt = lastSolvedAt;
+    }
+}
@@ -0,0 +1,32 @@
+package com.assessment.dto;
+
+import java.util.List;
+
+public class LeaderboardResponse {
+    private int totalParticipants;
+    private List<LeaderboardEntry> entries;
+
+    public LeaderboardResponse() {
+    }
+
+    public LeaderboardResponse(int totalParticipants, List<LeaderboardEntry> entries) {
+        this.totalParticipants = totalParticipants;
+        this.entries = entries;
+    }
+
+    public int getTotalParticipants() {
+        return totalParticipants;
+    }
+
+    public void setTotalParticipants(int totalParticipants) {
+        this.totalParticipants = totalParticipants;
+    }
+
+    public List<LeaderboardEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<LeaderboardEntry> entries) {
+        this.entries = entries;
+    }
+}
@@ -5,6 +5,8 @@ public class LoginResponse {
     private String username;
     private String role;
     private boolean success;
+    // Student sign-in only: the token that proves this browser holds the Student ID on later sign-ins
+    private String claimToken;
 
     public LoginResponse() {
     }
@@ -48,6 +50,14 @@ public class LoginResponse {
         this.role = role;
     }
 
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+
     public boolean isSuccess() {
         return success;
     }
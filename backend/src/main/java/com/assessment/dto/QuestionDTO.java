@@ -10,6 +10,7 @@ public class QuestionDTO {
     private String description;
     private String solution;
     private String explanation;
+    private String testCases;
     private String starterCode;
     private LocalDateTime releaseTime;
     private boolean unlocked;
@@ -28,6 +29,7 @@ public class QuestionDTO {
         dto.setDescription(question.getDescription());
         dto.setSolution(null); // Hidden
         dto.setExplanation(null); // Hidden
+        dto.setTestCases(null); // Hidden, expected outputs give the answer away
         dto.setStarterCode(question.getStarterCode()); // Visible even if locked? Yes, to peek at code? Actually usually
                                                        // yes.
         dto.setReleaseTime(question.getReleaseTime());
@@ -45,6 +47,7 @@ public class QuestionDTO {
         dto.setDescription(question.getDescription());
         dto.setSolution(question.getSolution());
         dto.setExplanation(question.getExplanation());
+        dto.setTestCases(question.getTestCases());
         dto.setStarterCode(question.getStarterCode());
         dto.setReleaseTime(question.getReleaseTime());
         dto.setUnlocked(true);
@@ -103,6 +106,14 @@ public class QuestionDTO {
         this.explanation = explanation;
     }
 
+    public String getTestCases() {
+        return testCases;
+    }
+
+    public void setTestCases(String testCases) {
+        this.testCases = testCases;
+    }
+
     public String getStarterCode() {
         return starterCode;
     }
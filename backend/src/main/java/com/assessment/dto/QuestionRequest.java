@@ -1,5 +1,7 @@
 package com.assessment.dto;
 
+import com.assessment.model.Question;
+
 import java.time.LocalDateTime;
 
 public class QuestionRequest {
@@ -7,11 +9,26 @@ public class QuestionRequest {
     private String description;
     private String solution;
     private String explanation;
+    private String testCases;
+    private String starterCode;
     private LocalDateTime releaseTime;
 
     public QuestionRequest() {
     }
 
+    // Every editable field of a stored question, as written by the bulk export
+    public static QuestionRequest of(Question question) {
+        QuestionRequest request = new QuestionRequest();
+        request.setTitle(question.getTitle());
+        request.setDescription(question.getDescription());
+        request.setSolution(question.getSolution());
+        request.setExplanation(question.getExplanation());
+        request.setTestCases(question.getTestCases());
+        request.setStarterCode(question.getStarterCode());
+        request.setReleaseTime(question.getReleaseTime());
+        return request;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -44,6 +61,22 @@ public class QuestionRequest {
         this.explanation = explanation;
     }
 
+    public String getTestCases() {
+        return testCases;
+    }
+
+    public void setTestCases(String testCases) {
+        this.testCases = testCases;
+    }
+
+    public String getStarterCode() {
+        return starterCode;
+    }
+
+    public void setStarterCode(String starterCode) {
+        this.starterCode = starterCode;
+    }
+
     public LocalDateTime getReleaseTime() {
         return releaseTime;
     }
@@ -0,0 +1,7 @@
+package com.assessment.dto;
+
+import java.time.LocalDateTime;
+
+// Just what a question list needs: no description, test cases or solution
+public record QuestionSummary(Long id, String title, LocalDateTime releaseTime, boolean unlocked) {
+}
@@ -0,0 +1,33 @@
+package com.assessment.dto;
+
+import java.util.List;
+
+public class QuestionSummaryPage {
+    private List<QuestionSummary> items;
+    private String nextCursor;
+
+    public QuestionSummaryPage() {
+    }
+
+    public QuestionSummaryPage(List<QuestionSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<QuestionSummary> getItems() {
+        return items;
+    }
+
+    public void setItems(List<QuestionSummary> items) {
+        this.items = items;
+    }
+
+    // Pass back as ?cursor= for the next page; null on the last page
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.assessment.dto;
+
+public class StudentLoginRequest {
+    private String studentId;
+    // Handed out by the sign-in that claimed the ID; absent on a first sign-in
+    private String claimToken;
+
+    public StudentLoginRequest() {
+    }
+
+    public StudentLoginRequest(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+}
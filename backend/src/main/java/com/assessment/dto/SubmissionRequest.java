@@ -0,0 +1,42 @@
+package com.assessment.dto;
+
+import com.assessment.judge.JudgeMode;
+
+public class SubmissionRequest {
+    private Long questionId;
+    private String code;
+    // Null for the configured default
+    private JudgeMode mode;
+
+    public SubmissionRequest() {
+    }
+
+    public SubmissionRequest(Long questionId, String code) {
+        this.questionId = questionId;
+        this.code = code;
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public void setQuestionId(Long questionId) {
+        this.questionId = questionId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public JudgeMode getMode() {
+        return mode;
+    }
+
+    public void setMode(JudgeMode mode) {
+        this.mode = mode;
+    }
+}
@@ -0,0 +1,169 @@
+package com.assessment.dto;
+
+import com.assessment.judge.Verdict;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SubmissionResult {
+    private Long questionId;
+    private Verdict verdict;
+    private boolean correct;
+    private int score;
+    private int passedCount;
+    private int totalCount;
+    private String compilationError;
+    private String feedback;
+    private double timeMs;
+    private List<TestCaseResult> testCaseResults = new ArrayList<>();
+
+    public SubmissionResult() {
+    }
+
+    // Factory method for a submission that never reached the test cases
+    public static SubmissionResult failed(Long questionId, Verdict verdict, String message) {
+        SubmissionResult result = new SubmissionResult();
+        result.setQuestionId(questionId);
+        result.setVerdict(verdict);
+        result.setFeedback(message);
+        if (verdict == Verdict.COMPILATION_ERROR) {
+            result.setCompilationError(message);
+        }
+        return result;
+    }
+
+    // Factory method summarizing per-case results; the first failing case decides the verdict
+    public static SubmissionResult graded(Long questionId, List<TestCaseResult> cases, double timeMs) {
+        SubmissionResult result = new SubmissionResult();
+        result.setQuestionId(questionId);
+        result.setTestCaseResults(cases);
+        result.setTotalCount(cases.size());
+        result.setTimeMs(timeMs);
+
+        Verdict verdict = Verdict.ACCEPTED;
+        int passed = 0;
+        for (int i = 0; i < cases.size(); i++) {
+            TestCaseResult testCase = cases.get(i);
+            if (testCase.isPassed()) {
+                passed++;
+            } else if (verdict == Verdict.ACCEPTED) {
+                verdict = testCase.getVerdict();
+            }
+        }
+
+        result.setPassedCount(passed);
+        result.setVerdict(verdict);
+        result.setCorrect(verdict == Verdict.ACCEPTED);
+        result.setScore(cases.isEmpty() ? 0 : passed * 100 / cases.size());
+        result.setFeedback(verdict == Verdict.ACCEPTED
+                ? "All " + cases.size() + " test cases passed"
+                : "Passed " + passed + " of " + cases.size() + " test cases");
+        return result;
+    }
+
+    // The judge failed rather than the code: a system error, overall or in any case, or a runner that went down
+    public boolean judgeFailed() {
+        if (verdict == Verdict.SYSTEM_ERROR) {
+            return true;
+        }
+        for (TestCaseResult testCase : testCaseResults) {
+            if (testCase.getVerdict() == Verdict.SYSTEM_ERROR || testCase.runnerFailed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Judging the same code again could come out differently: the judge failed or a time limit ran out
+    public boolean dependsOnLoad() {
+        if (verdict == Verdict.TIME_LIMIT_EXCEEDED) {
+            return true;
+        }
+        for (TestCaseResult testCase : testCaseResults) {
+            if (testCase.getVerdict() == Verdict.TIME_LIMIT_EXCEEDED) {
+                return true;
+            }
+        }
+        return judgeFailed();
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public void setQuestionId(Long questionId) {
+        this.questionId = questionId;
+    }
+
+    public Verdict getVerdict() {
+        return verdict;
+    }
+
+    public void setVerdict(Verdict verdict) {
+        this.verdict = verdict;
+    }
+
+    public boolean isCorrect() {
+        return correct;
+    }
+
+    public void setCorrect(boolean correct) {
+        this.correct = correct;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    public int getPassedCount() {
+        return passedCount;
+    }
+
+    public void setPassedCount(int passedCount) {
+        this.passedCount = passedCount;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(int totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public String getCompilationError() {
+        return compilationError;
+    }
+
+    public void setCompilationError(String compilationError) {
+        this.compilationError = compilationError;
+    }
+
+    public String getFeedback() {
+        return feedback;
+    }
+
+    public void setFeedback(String feedback) {
+        this.feedback = feedback;
+    }
+
+    public double getTimeMs() {
+        return timeMs;
+    }
+
+    public void setTimeMs(double timeMs) {
+        this.timeMs = timeMs;
+    }
+
+    public List<TestCaseResult> getTestCaseResults() {
+        return testCaseResults;
+    }
+
+    public void setTestCaseResults(List<TestCaseResult> testCaseResults) {
+        this.testCaseResults = testCaseResults;
+    }
+}
@@ -0,0 +1,81 @@
+package com.assessment.dto;
+
+import com.assessment.judge.Verdict;
+
+public class TestCaseResult {
+
+    // Start of the output recorded when the runner a case ran in went down; the code is not necessarily at fault
+    public static final String JVM_TERMINATED = "The program terminated the JVM";
+
+    private String input;
+    private String expected;
+    private String actualOutput;
+    private boolean passed;
+    private Verdict verdict;
+    private double timeMs;
+
+    public TestCaseResult() {
+    }
+
+    public TestCaseResult(String input, String expected, String actualOutput, Verdict verdict, double timeMs) {
+        this.input = input;
+        this.expected = expected;
+        this.actualOutput = actualOutput;
+        this.passed = verdict == Verdict.ACCEPTED;
+        this.verdict = verdict;
+        this.timeMs = timeMs;
+    }
+
+    // The runner went down under this case (killed, out of memory); judging it again may well succeed
+    public boolean runnerFailed() {
+        return verdict == Verdict.RUNTIME_ERROR && actualOutput != null && actualOutput.startsWith(JVM_TERMINATED);
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public void setInput(String input) {
+        this.input = input;
+    }
+
+    public String getExpected() {
+        return expected;
+    }
+
+    public void setExpected(String expected) {
+        this.expected = expected;
+    }
+
+    public String getActualOutput() {
+        return actualOutput;
+    }
+
+    public void setActualOutput(String actualOutput) {
+        this.actualOutput = actualOutput;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    public void setPassed(boolean passed) {
+        this.passed = passed;
+    }
+
+    public Verdict getVerdict() {
+        return verdict;
+    }
+
+    public void setVerdict(Verdict verdict) {
+        this.verdict = verdict;
+    }
+
+    public double getTimeMs() {
+        return timeMs;
+    }
+
+    public void setTimeMs(double timeMs) {
+        this.timeMs = timeMs;
+    }
+}
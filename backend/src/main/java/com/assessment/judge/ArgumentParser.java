@@ -0,0 +1,227 @@
+package com.assessment.judge;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Turns the free-form test inputs stored with a question ("3", "[1, 2, 3]",
+ * "max=3, total=4") into arguments for the solution method. Top-level values
+ * are separated by commas, an optional "name=" prefix is ignored and each
+ * value is converted to the declared parameter type.
+ */
+public final class ArgumentParser {
+
+    private static final Pattern NAME_PREFIX = Pattern.compile("^\\s*[A-Za-z_$][\\w$]*\\s*=(?!=)\\s*");
+
+    private ArgumentParser() {
+    }
+
+    public static Object[] parse(String input, Method method) {
+        return parse(input, split(input), method);
+    }
+
+    // Same as parse(input, method) for an input that has already been split into tokens
+    public static Object[] parse(String input, List<String> tokens, Method method) {
+        Type[] types = method.getGenericParameterTypes();
+
+        // "1, 2, 3" for a single array/list parameter means the whole input is that collection
+        if (types.length == 1 && tokens.size() > 1 && isSequence(types[0])) {
+            tokens = List.of(stripName(input));
+        }
+        if (tokens.size() != types.length) {
+            throw new IllegalArgumentException("Input has " + tokens.size() + " value(s) but "
+                    + method.getName() + " takes " + types.length);
+        }
+
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            arguments[i] = convert(tokens.get(i), types[i]);
+        }
+        return arguments;
+    }
+
+    /**
+     * Deep copy of converted arguments: arrays and collections are copied,
+     * boxed primitives and strings are immutable and shared.
+     */
+    public static Object[] copy(Object[] arguments) {
+        Object[] copy = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            copy[i] = copyValue(arguments[i]);
+        }
+        return copy;
+    }
+
+    private static Object copyValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            if (value.getClass().getComponentType().isPrimitive()) {
+                System.arraycopy(value, 0, copy, 0, length);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    Array.set(copy, i, copyValue(Array.get(value, i)));
+                }
+            }
+            return copy;
+        }
+        if (value instanceof Collection<?> collection) {
+            Collection<Object> copy = collection instanceof List<?> ? new ArrayList<>() : new LinkedHashSet<>();
+            for (Object element : collection) {
+                copy.add(copyValue(element));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    // Number of top-level values in an input, used to pick between overloads
+    public static int count(String input) {
+        return split(input).size();
+    }
+
+    static List<String> split(String input) {
+        List<String> tokens = new ArrayList<>();
+        if (input == null || input.isBlank()) {
+            return tokens;
+        }
+
+        int depth = 0;
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (quoted) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == '[' || c == '{' || c == '(') {
+                depth++;
+            } else if (c == ']' || c == '}' || c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                tokens.add(stripName(input.substring(start, i)));
+                start = i + 1;
+            }
+        }
+        tokens.add(stripName(input.substring(start)));
+        return tokens;
+    }
+
+    static Object convert(String token, Type type) {
+        String value = token.trim();
+
+        if (type instanceof Class<?> clazz) {
+            if (clazz.isArray()) {
+                List<String> elements = elements(value);
+                Object array = Array.newInstance(clazz.getComponentType(), elements.size());
+                for (int i = 0; i < elements.size(); i++) {
+                    Array.set(array, i, convert(elements.get(i), clazz.getComponentType()));
+                }
+                return array;
+            }
+            return scalar(value, clazz);
+        }
+
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && Collection.class.isAssignableFrom(raw)) {
+            Type elementType = parameterized.getActualTypeArguments()[0];
+            Collection<Object> collection = raw.isAssignableFrom(ArrayList.class)
+                    ? new ArrayList<>()
+                    : new LinkedHashSet<>();
+            for (String element : elements(value)) {
+                collection.add(convert(element, elementType));
+            }
+            return collection;
+        }
+
+        throw new IllegalArgumentException("Unsupported parameter type " + type.getTypeName());
+    }
+
+    private static Object scalar(String value, Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return Integer.parseInt(value);
+        }
+        if (type == long.class || type == Long.class) {
+            return Long.parseLong(value);
+        }
+        if (type == double.class || type == Double.class) {
+            return Double.parseDouble(value);
+        }
+        if (type == float.class || type == Float.class) {
+            return Float.parseFloat(value);
+        }
+        if (type == short.class || type == Short.class) {
+            return Short.parseShort(value);
+        }
+        if (type == byte.class || type == Byte.class) {
+            return Byte.parseByte(value);
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return Boolean.parseBoolean(value);
+        }
+        if (type == char.class || type == Character.class) {
+            String unquoted = unquote(value);
+            if (unquoted.length() != 1) {
+                throw new IllegalArgumentException("Expected a single character but got " + value);
+            }
+            return unquoted.charAt(0);
+        }
+        if (type == String.class || type == Object.class) {
+            return unquote(value);
+        }
+        throw new IllegalArgumentException("Unsupported parameter type " + type.getName());
+    }
+
+    // Elements of a bracketed (or bare) comma-separated sequence
+    private static List<String> elements(String value) {
+        String body = value;
+        if (body.length() >= 2 && (body.charAt(0) == '[' || body.charAt(0) == '{')) {
+            body = body.substring(1, body.length() - 1);
+        }
+        List<String> elements = split(body);
+        if (elements.size() == 1 && elements.get(0).isEmpty()) {
+            return List.of();
+        }
+        return elements;
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2) {
+            char first = value.charAt(0);
+            char last = value.charAt(value.length() - 1);
+            if ((first == '"' && last == '"') || (first == '\'' && last == '\'')) {
+                return value.substring(1, value.length() - 1);
+            }
+        }
+        return value;
+    }
+
+    private static String stripName(String token) {
+        return NAME_PREFIX.matcher(token).replaceFirst("").trim();
+    }
+
+    private static boolean isSequence(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz.isArray();
+        }
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && Collection.class.isAssignableFrom(raw);
+    }
+}
@@ -0,0 +1,26 @@
+package com.assessment.judge;
+
+import java.util.Map;
+
+/**
+ * Defines compiled submission classes straight from their bytecode. Each
+ * submission gets its own loader so classes can be unloaded once it is judged.
+ */
+public class ByteArrayClassLoader extends ClassLoader {
+
+    private final Map<String, byte[]> classes;
+
+    public ByteArrayClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
+        super(parent);
+        this.classes = classes;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] bytes = classes.get(name);
+        if (bytes == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,77 @@
+package com.assessment.judge;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Consumer;
+
+/**
+ * Calls a solution method once under an execution budget and classifies
+ * what happened. Shared by in-process judging and the isolated runner
+ * processes, which send the Outcome back to the application; comparing the
+ * output with the expected one is left to the caller.
+ */
+public final class CaseExecution {
+
+    public enum Status {
+        RETURNED,
+        TIME_LIMIT_EXCEEDED,
+        RUNTIME_ERROR
+    }
+
+    /**
+     * @param output the formatted return value, or why the case did not return one
+     * @param jvmDamaged the code hit an error (out of memory, stack overflow) after which
+     *                   the JVM it ran in should not be trusted with more work
+     */
+    public record Outcome(Status status, String output, double timeMs, boolean jvmDamaged) {
+    }
+
+    private CaseExecution() {
+    }
+
+    // started receives the budget once it is running, e.g. so that it can be cancelled early
+    public static Outcome run(ExecutionWatchdog watchdog, Method method, Object[] arguments, long wallMs, long cpuMs,
+            Consumer<ExecutionBudget> started) {
+        long start = System.nanoTime();
+        ExecutionBudget budget = watchdog.start(wallMs, cpuMs);
+        if (started != null) {
+            started.accept(budget);
+        }
+        try {
+            // A fresh instance per case; constructors are student code too, so they run under the budget
+            Object target = Modifier.isStatic(method.getModifiers()) ? null : newInstance(method.getDeclaringClass());
+            Object result = method.invoke(target, arguments);
+            double timeMs = elapsedMs(start);
+            if (budget.isCancelled()) {
+                return new Outcome(Status.TIME_LIMIT_EXCEEDED, budget.getCancelReason(), timeMs, false);
+            }
+            return new Outcome(Status.RETURNED, OutputFormatter.format(result), timeMs, false);
+        } catch (Throwable e) {
+            double timeMs = elapsedMs(start);
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            if (budget.isCancelled() || cause instanceof ExecutionCancelledError) {
+                return new Outcome(Status.TIME_LIMIT_EXCEEDED, budget.getCancelReason(), timeMs, false);
+            }
+            return new Outcome(Status.RUNTIME_ERROR, describe(cause), timeMs, cause instanceof VirtualMachineError);
+        } finally {
+            watchdog.finish(budget);
+        }
+    }
+
+    private static Object newInstance(Class<?> type) throws ReflectiveOperationException {
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+    private static String describe(Throwable error) {
+        String message = error.getMessage();
+        return error.getClass().getName() + (message != null ? ": " + message : "");
+    }
+
+    private static double elapsedMs(long startNanos) {
+        return Math.round((System.nanoTime() - startNanos) / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,12 @@
+package com.assessment.judge;
+
+/**
+ * Raised when a submission does not compile; the message holds the compiler
+ * diagnostics in a form suitable for showing to the student.
+ */
+public class CompilationException extends RuntimeException {
+
+    public CompilationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,78 @@
+package com.assessment.judge;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Locates the class and method a submission is graded through: the public
+ * method declared by the primary class (normally Solution), e.g.
+ * {@code solve(int A)} or {@code canIWin(int, int)}.
+ */
+public final class EntryPoint {
+
+    private EntryPoint() {
+    }
+
+    // Binary name of the submission's primary class among the compiled classes
+    public static String findClassName(Map<String, byte[]> classes, String simpleName) {
+        for (String name : classes.keySet()) {
+            if (name.equals(simpleName) || name.endsWith("." + simpleName)) {
+                return name;
+            }
+        }
+        return simpleName;
+    }
+
+    /**
+     * Picks the method to call. Candidates are public, non-synthetic methods
+     * other than main; when there are several, ones taking argumentCount
+     * parameters win, then one named solve, then the alphabetically first.
+     *
+     * @return the method, or null when the class declares no candidate
+     */
+    public static Method findMethod(Class<?> type, int argumentCount) {
+        List<Method> candidates = new ArrayList<>();
+        for (Method method : type.getDeclaredMethods()) {
+            if (Modifier.isPublic(method.getModifiers()) && !method.isSynthetic() && !method.isBridge()
+                    && !method.getName().equals("main")) {
+                candidates.add(method);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        candidates.sort(Comparator
+                .comparing((Method method) -> method.getParameterCount() != argumentCount)
+                .thenComparing(method -> !method.getName().equals("solve"))
+                .thenComparing(Method::getName)
+                .thenComparingInt(Method::getParameterCount));
+        Method method = candidates.get(0);
+        method.setAccessible(true);
+        return method;
+    }
+
+    /**
+     * Defines the classes in a fresh loader and finds the method to call.
+     *
+     * @throws CompilationException when the classes cannot be loaded or declare no candidate method
+     */
+    public static Method load(Map<String, byte[]> classes, String className, int argumentCount, ClassLoader parent) {
+        Method method;
+        try {
+            ClassLoader loader = new ByteArrayClassLoader(classes, parent);
+            Class<?> solutionClass = loader.loadClass(className);
+            method = findMethod(solutionClass, argumentCount);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new CompilationException("Could not load class " + className + ": " + e);
+        }
+        if (method == null) {
+            throw new CompilationException("Class " + className + " must declare a public solution method");
+        }
+        return method;
+    }
+}
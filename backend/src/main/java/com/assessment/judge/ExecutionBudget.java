@@ -0,0 +1,69 @@
+package com.assessment.judge;
+
+/**
+ * Wall-clock and CPU-time allowance for one piece of submission code running
+ * on one thread. Created and enforced by {@link ExecutionWatchdog}.
+ */
+public class ExecutionBudget {
+
+    private final Thread thread;
+    private final long startNanos;
+    private final long startCpuNanos;
+    private final long wallLimitNanos;
+    private final long cpuLimitNanos;
+
+    private volatile String cancelReason;
+    private boolean finished;
+
+    ExecutionBudget(Thread thread, long startCpuNanos, long wallLimitMs, long cpuLimitMs) {
+        this.thread = thread;
+        this.startNanos = System.nanoTime();
+        this.startCpuNanos = startCpuNanos;
+        this.wallLimitNanos = wallLimitMs * 1_000_000L;
+        this.cpuLimitNanos = cpuLimitMs * 1_000_000L;
+    }
+
+    public boolean isCancelled() {
+        return cancelReason != null;
+    }
+
+    public String getCancelReason() {
+        return cancelReason;
+    }
+
+    Thread getThread() {
+        return thread;
+    }
+
+    long getStartCpuNanos() {
+        return startCpuNanos;
+    }
+
+    boolean isWallClockExceeded(long now) {
+        return now - startNanos > wallLimitNanos;
+    }
+
+    boolean isCpuTimeExceeded(long usedCpuNanos) {
+        return usedCpuNanos > cpuLimitNanos;
+    }
+
+    synchronized void cancel(String reason) {
+        if (finished) {
+            return;
+        }
+        if (cancelReason == null) {
+            cancelReason = reason;
+            ExecutionGuard.revoked();
+        }
+        // Repeated on every watchdog tick in case the code cleared its interrupt flag
+        thread.interrupt();
+    }
+
+    // After this returns the watchdog will not interrupt the thread on this budget's behalf again
+    synchronized void markFinished() {
+        finished = true;
+        if (cancelReason != null) {
+            ExecutionGuard.released();
+        }
+    }
+}
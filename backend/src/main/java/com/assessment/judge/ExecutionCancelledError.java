@@ -0,0 +1,13 @@
+package com.assessment.judge;
+
+/**
+ * Thrown inside submission code at the next checkpoint once its execution
+ * budget has been revoked. It is an Error rather than an exception so that
+ * ordinary {@code catch (Exception e)} blocks in student code do not swallow it.
+ */
+public class ExecutionCancelledError extends Error {
+
+    public ExecutionCancelledError(String message) {
+        super(message, null, false, false);
+    }
+}
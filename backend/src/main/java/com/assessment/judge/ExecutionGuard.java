@@ -0,0 +1,48 @@
+package com.assessment.judge;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cooperative cancellation hook for submission code. {@link GuardInstrumenter}
+ * inserts a call to {@link #checkpoint()} at every method entry and loop
+ * back-edge; once the watchdog revokes a budget, the next checkpoint on that
+ * thread throws {@link ExecutionCancelledError}. The watchdog also interrupts
+ * the thread so that sleeping or waiting code reaches a checkpoint promptly.
+ */
+public final class ExecutionGuard {
+
+    private static final ThreadLocal<ExecutionBudget> CURRENT = new ThreadLocal<>();
+
+    // Budgets revoked but not yet finished; while zero, checkpoints cost one volatile read
+    private static final AtomicInteger REVOKED = new AtomicInteger();
+
+    private ExecutionGuard() {
+    }
+
+    // Called from instrumented student code
+    public static void checkpoint() {
+        if (REVOKED.get() != 0) {
+            ExecutionBudget budget = CURRENT.get();
+            if (budget != null && budget.isCancelled()) {
+                throw new ExecutionCancelledError(budget.getCancelReason());
+            }
+        }
+    }
+
+    // Not tied to the interrupt flag, which student code can clear by catching InterruptedException
+    static void revoked() {
+        REVOKED.incrementAndGet();
+    }
+
+    static void released() {
+        REVOKED.decrementAndGet();
+    }
+
+    static void bind(ExecutionBudget budget) {
+        CURRENT.set(budget);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+}
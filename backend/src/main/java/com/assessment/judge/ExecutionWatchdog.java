@@ -0,0 +1,88 @@
+package com.assessment.judge;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the running submission budgets every few milliseconds and revokes
+ * the ones that have used up their wall-clock time or, via ThreadMXBean,
+ * their CPU time. Revocation is cooperative: see {@link ExecutionGuard}.
+ */
+public class ExecutionWatchdog {
+
+    private static final long TICK_MS = 10;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final boolean cpuTimeSupported;
+    private final Set<ExecutionBudget> running = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "judge-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ExecutionWatchdog() {
+        cpuTimeSupported = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeSupported();
+        if (cpuTimeSupported && !threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        ticker.scheduleWithFixedDelay(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts a budget for the calling thread. The caller must pass it to
+     * {@link #finish(ExecutionBudget)} in a finally block.
+     */
+    public ExecutionBudget start(long wallLimitMs, long cpuLimitMs) {
+        Thread thread = Thread.currentThread();
+        long cpuStart = cpuTimeSupported ? threads.getCurrentThreadCpuTime() : 0;
+        ExecutionBudget budget = new ExecutionBudget(thread, cpuStart, wallLimitMs, cpuLimitMs);
+        ExecutionGuard.bind(budget);
+        running.add(budget);
+        return budget;
+    }
+
+    public void finish(ExecutionBudget budget) {
+        budget.markFinished();
+        running.remove(budget);
+        ExecutionGuard.unbind();
+        // Clear any interrupt raised for this budget so it cannot leak into the next task
+        Thread.interrupted();
+    }
+
+    // Revokes a budget before its limits run out, e.g. when its result is no longer needed
+    public void cancel(ExecutionBudget budget, String reason) {
+        budget.cancel(reason);
+    }
+
+    // CPU time consumed under the budget so far, or 0 when the JVM cannot measure it
+    public long cpuNanosUsed(ExecutionBudget budget) {
+        if (!cpuTimeSupported) {
+            return 0;
+        }
+        long cpu = threads.getThreadCpuTime(budget.getThread().getId());
+        return cpu < 0 ? 0 : cpu - budget.getStartCpuNanos();
+    }
+
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        for (ExecutionBudget budget : running) {
+            if (budget.isCancelled()) {
+                budget.cancel(budget.getCancelReason());
+            } else if (budget.isWallClockExceeded(now)) {
+                budget.cancel("Time limit exceeded");
+            } else if (budget.isCpuTimeExceeded(cpuNanosUsed(budget))) {
+                budget.cancel("CPU time limit exceeded");
+            }
+        }
+    }
+}
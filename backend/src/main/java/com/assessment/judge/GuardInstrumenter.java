@@ -0,0 +1,162 @@
+package com.assessment.judge;
+
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Handle;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rewrites compiled submission classes so that every method entry and every
+ * backward jump (i.e. each loop iteration) calls
+ * {@link ExecutionGuard#checkpoint()}. That gives the watchdog a way to stop
+ * runaway loops and recursion without Thread.stop. The inserted call takes and
+ * returns nothing, so stack sizes and frames stay valid.
+ *
+ * Checkpoints only stop the thread the budget belongs to, so the classes are
+ * also checked against {@link SubmissionPolicy} on the way through: code that
+ * could start a thread, use a pool or otherwise run outside its budget is
+ * rejected like a compilation error.
+ */
+public final class GuardInstrumenter {
+
+    private static final String GUARD_OWNER = ExecutionGuard.class.getName().replace('.', '/');
+
+    private GuardInstrumenter() {
+    }
+
+    /**
+     * @throws CompilationException when the code uses something {@link SubmissionPolicy} refuses
+     */
+    public static Map<String, byte[]> instrument(Map<String, byte[]> classes) {
+        // Superclass of each of the submission's own classes, by internal name
+        Map<String, String> supers = new HashMap<>();
+        for (byte[] classBytes : classes.values()) {
+            ClassReader reader = new ClassReader(classBytes);
+            supers.put(reader.getClassName(), reader.getSuperName());
+        }
+
+        Map<String, byte[]> instrumented = new HashMap<>();
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            instrumented.put(entry.getKey(), instrument(entry.getValue(), supers));
+        }
+        return instrumented;
+    }
+
+    static byte[] instrument(byte[] classBytes, Map<String, String> supers) {
+        ClassReader reader = new ClassReader(classBytes);
+        ClassWriter writer = new ClassWriter(reader, 0);
+        reject(0, SubmissionPolicy.checkSuperclass(reader.getSuperName(), supers.keySet()),
+                "extends " + reader.getSuperName());
+
+        reader.accept(new ClassVisitor(Opcodes.ASM9, writer) {
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                    String[] exceptions) {
+                reject(0, SubmissionPolicy.checkDeclaration(name, descriptor), name);
+                MethodVisitor delegate = super.visitMethod(access, name, descriptor, signature, exceptions);
+                if ((access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0) {
+                    return delegate;
+                }
+                return new CheckpointMethodVisitor(delegate, supers);
+            }
+        }, 0);
+        return writer.toByteArray();
+    }
+
+    // Reported in the same "Line n: message" form as javac's diagnostics
+    private static void reject(int line, String reason, String reference) {
+        if (reason != null) {
+            throw new CompilationException((line > 0 ? "Line " + line + ": " : "")
+                    + "Submissions may not " + reason + " (" + reference.replace('/', '.') + ")");
+        }
+    }
+
+    private static final class CheckpointMethodVisitor extends MethodVisitor {
+        private final Map<String, String> supers;
+
+        // Labels already emitted; a jump to one of them goes backwards
+        private final Set<Label> visited = new HashSet<>();
+        private int line;
+
+        CheckpointMethodVisitor(MethodVisitor delegate, Map<String, String> supers) {
+            super(Opcodes.ASM9, delegate);
+            this.supers = supers;
+        }
+
+        @Override
+        public void visitLineNumber(int line, Label start) {
+            super.visitLineNumber(line, start);
+            this.line = line;
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+            check(owner, name, descriptor);
+            super.visitFieldInsn(opcode, owner, name, descriptor);
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor,
+                boolean isInterface) {
+            check(owner, name, descriptor);
+            super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+        }
+
+        // Method references and lambdas name their target as a handle among the bootstrap arguments
+        @Override
+        public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle,
+                Object... bootstrapMethodArguments) {
+            for (Object argument : bootstrapMethodArguments) {
+                if (argument instanceof Handle handle) {
+                    check(handle.getOwner(), handle.getName(), handle.getDesc());
+                }
+            }
+            super.visitInvokeDynamicInsn(name, descriptor, bootstrapMethodHandle, bootstrapMethodArguments);
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            if (value instanceof Handle handle) {
+                check(handle.getOwner(), handle.getName(), handle.getDesc());
+            }
+            super.visitLdcInsn(value);
+        }
+
+        @Override
+        public void visitCode() {
+            super.visitCode();
+            checkpoint();
+        }
+
+        @Override
+        public void visitLabel(Label label) {
+            super.visitLabel(label);
+            visited.add(label);
+        }
+
+        @Override
+        public void visitJumpInsn(int opcode, Label label) {
+            if (visited.contains(label)) {
+                checkpoint();
+            }
+            super.visitJumpInsn(opcode, label);
+        }
+
+        // Inserted through super, so the guard call itself is never checked against the policy
+        private void checkpoint() {
+            super.visitMethodInsn(Opcodes.INVOKESTATIC, GUARD_OWNER, "checkpoint", "()V", false);
+        }
+
+        private void check(String owner, String name, String descriptor) {
+            reject(line, SubmissionPolicy.checkMember(owner, name, descriptor, supers), owner + "." + name);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.assessment.judge;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles a single Java source file entirely in memory with the JDK's
+ * javax.tools compiler. Sources are read from a string and class files are
+ * captured as byte arrays; nothing touches the file system. Submissions only
+ * see the JDK, not the application's own classpath.
+ */
+public class InMemoryJavaCompiler {
+
+    private static final Pattern PUBLIC_CLASS = Pattern.compile("\\bpublic\\s+(?:final\\s+|abstract\\s+)*class\\s+(\\w+)");
+    private static final List<String> OPTIONS = List.of("-proc:none", "-Xlint:none", "-g:source,lines");
+
+    private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+    public boolean isAvailable() {
+        return compiler != null;
+    }
+
+    /**
+     * Compiles the source and returns the bytecode of every class it declares,
+     * keyed by binary name.
+     *
+     * @throws CompilationException with javac's diagnostics when compilation fails
+     */
+    public Map<String, byte[]> compile(String source) {
+        if (compiler == null) {
+            throw new CompilationException("Java compiler is not available; run the backend on a JDK, not a JRE");
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager standardManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT,
+                StandardCharsets.UTF_8);
+        MemoryFileManager fileManager = new MemoryFileManager(standardManager);
+
+        SourceFile sourceFile = new SourceFile(primaryClassName(source), source);
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, OPTIONS, null,
+                List.of(sourceFile));
+
+        boolean success = task.call();
+        try {
+            fileManager.close();
+        } catch (IOException ignored) {
+            // In-memory outputs; nothing to release
+        }
+
+        if (!success) {
+            throw new CompilationException(formatDiagnostics(diagnostics.getDiagnostics()));
+        }
+        return fileManager.getClassBytes();
+    }
+
+    // javac requires a public top-level class to live in a file of the same name
+    public static String primaryClassName(String source) {
+        Matcher matcher = PUBLIC_CLASS.matcher(source);
+        return matcher.find() ? matcher.group(1) : "Solution";
+    }
+
+    private static String formatDiagnostics(List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+        StringBuilder message = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+            if (diagnostic.getKind() != Diagnostic.Kind.ERROR) {
+                continue;
+            }
+            if (message.length() > 0) {
+                message.append('\n');
+            }
+            if (diagnostic.getLineNumber() != Diagnostic.NOPOS) {
+                message.append("Line ").append(diagnostic.getLineNumber()).append(": ");
+            }
+            message.append(diagnostic.getMessage(Locale.ROOT));
+        }
+        return message.length() > 0 ? message.toString() : "Compilation failed";
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        SourceFile(String className, String source) {
+            super(URI.create("memory:///" + className + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    private static final class ClassFile extends SimpleJavaFileObject {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        ClassFile(String className) {
+            super(URI.create("memory:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return bytes;
+        }
+    }
+
+    private static final class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final Map<String, ClassFile> outputs = new HashMap<>();
+
+        MemoryFileManager(StandardJavaFileManager delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(JavaFileManager.Location location, String className,
+                JavaFileObject.Kind kind, FileObject sibling) {
+            ClassFile file = new ClassFile(className);
+            outputs.put(className, file);
+            return file;
+        }
+
+        @Override
+        public Iterable<JavaFileObject> list(JavaFileManager.Location location, String packageName,
+                Set<JavaFileObject.Kind> kinds, boolean recurse) throws IOException {
+            // Hide the application classpath; the platform classes come from the system modules
+            if (location == StandardLocation.CLASS_PATH) {
+                return Collections.emptyList();
+            }
+            return super.list(location, packageName, kinds, recurse);
+        }
+
+        Map<String, byte[]> getClassBytes() {
+            Map<String, byte[]> classes = new HashMap<>();
+            for (Map.Entry<String, ClassFile> entry : outputs.entrySet()) {
+                classes.put(entry.getKey(), entry.getValue().bytes.toByteArray());
+            }
+            return classes;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.assessment.judge;
+
+// How much of the test suite a submission runs
+public enum JudgeMode {
+    // Every test case, for a complete report and partial score
+    FULL,
+    // Stop at the first failing test case; later ones are reported as skipped
+    FAIL_FAST
+}
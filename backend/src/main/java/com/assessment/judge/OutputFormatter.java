@@ -0,0 +1,84 @@
+package com.assessment.judge;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Renders solution return values the way test cases spell expected outputs
+ * ("56", "true", "[1, 2, 3]") and compares them leniently with respect to
+ * whitespace.
+ */
+public final class OutputFormatter {
+
+    private OutputFormatter() {
+    }
+
+    public static String format(Object value) {
+        StringBuilder out = new StringBuilder();
+        append(out, value);
+        return out.toString();
+    }
+
+    public static boolean matches(String actual, String expected) {
+        return normalize(actual).equals(normalize(expected));
+    }
+
+    /**
+     * Trims, collapses whitespace runs to a single space and drops whitespace
+     * next to brackets and commas, so "[1,2]" and "[ 1, 2 ]" compare equal.
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        StringBuilder out = new StringBuilder(value.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = out.length() > 0;
+                continue;
+            }
+            if (pendingSpace && !isSeparator(c) && !isSeparator(out.charAt(out.length() - 1))) {
+                out.append(' ');
+            }
+            pendingSpace = false;
+            out.append(c);
+        }
+        return out.toString();
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ',' || c == '[' || c == ']' || c == '{' || c == '}' || c == '(' || c == ')';
+    }
+
+    private static void append(StringBuilder out, Object value) {
+        if (value == null) {
+            out.append("null");
+        } else if (value.getClass().isArray()) {
+            out.append('[');
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    out.append(", ");
+                }
+                append(out, Array.get(value, i));
+            }
+            out.append(']');
+        } else if (value instanceof Collection<?> collection) {
+            out.append('[');
+            Iterator<?> iterator = collection.iterator();
+            while (iterator.hasNext()) {
+                append(out, iterator.next());
+                if (iterator.hasNext()) {
+                    out.append(", ");
+                }
+            }
+            out.append(']');
+        } else {
+            out.append(value);
+        }
+    }
+}
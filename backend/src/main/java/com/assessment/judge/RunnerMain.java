@@ -0,0 +1,132 @@
+package com.assessment.judge;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of an isolated runner process (see RunnerPool). Reads
+ * requests from stdin and answers on stdout per {@link RunnerProtocol},
+ * running submission code with the same budgets and checkpoints as
+ * in-process judging. Its class path holds only the judge classes it needs,
+ * so submission code cannot reach anything of the application.
+ *
+ * The submission policy refuses thread creation, but should a submission
+ * get a thread started anyway, every reply says so: the live thread count
+ * is compared with the one from before the first submission, and the
+ * application retires the runner instead of trusting it with another job.
+ */
+public final class RunnerMain {
+
+    // Submission code may recurse deeply, as on the judge workers
+    private static final long STACK_SIZE = 64L * 1024 * 1024;
+
+    private RunnerMain() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(FileDescriptor.in)));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+
+        // Whatever submission code prints must not end up in the protocol stream
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(discard);
+        System.setErr(discard);
+        System.setIn(new ByteArrayInputStream(new byte[0]));
+
+        Thread worker = new Thread(null, () -> serve(in, out), "runner", STACK_SIZE);
+        worker.start();
+        worker.join();
+        System.exit(0);
+    }
+
+    private static void serve(DataInputStream in, DataOutputStream out) {
+        ExecutionWatchdog watchdog = new ExecutionWatchdog();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int baselineThreads = threads.getThreadCount();
+        Method method = null;
+        try {
+            out.writeInt(RunnerProtocol.HELLO);
+            out.flush();
+            while (true) {
+                int request = in.read();
+                if (request < 0) {
+                    return;
+                }
+                if (request == RunnerProtocol.LOAD) {
+                    method = null;
+                    Map<String, byte[]> classes = new HashMap<>();
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        classes.put(RunnerProtocol.readString(in), RunnerProtocol.readBytes(in));
+                    }
+                    String className = RunnerProtocol.readString(in);
+                    int argumentCount = in.readInt();
+                    try {
+                        method = EntryPoint.load(classes, className, argumentCount, RunnerMain.class.getClassLoader());
+                        out.writeByte(RunnerProtocol.OK);
+                    } catch (CompilationException e) {
+                        out.writeByte(RunnerProtocol.ERROR);
+                        RunnerProtocol.writeString(out, e.getMessage());
+                    }
+                    out.writeBoolean(threads.getThreadCount() > baselineThreads);
+                } else if (request == RunnerProtocol.RUN) {
+                    String input = RunnerProtocol.readString(in);
+                    int count = in.readInt();
+                    List<String> tokens = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        tokens.add(RunnerProtocol.readString(in));
+                    }
+                    long wallMs = in.readLong();
+                    long cpuMs = in.readLong();
+                    CaseExecution.Outcome outcome = run(watchdog, method, input, tokens, wallMs, cpuMs);
+                    out.writeByte(outcome.status().ordinal());
+                    RunnerProtocol.writeString(out, outcome.output());
+                    out.writeDouble(outcome.timeMs());
+                    out.writeBoolean(outcome.jvmDamaged() || threads.getThreadCount() > baselineThreads);
+                } else {
+                    // Out of step with the application; it will start a new runner
+                    return;
+                }
+                out.flush();
+            }
+        } catch (EOFException e) {
+            // The application closed our stdin
+        } catch (IOException e) {
+            // Nothing left to report to
+        } finally {
+            watchdog.shutdown();
+        }
+    }
+
+    private static CaseExecution.Outcome run(ExecutionWatchdog watchdog, Method method, String input,
+            List<String> tokens, long wallMs, long cpuMs) {
+        if (method == null) {
+            return new CaseExecution.Outcome(CaseExecution.Status.RUNTIME_ERROR, "No submission loaded", 0, false);
+        }
+        Object[] arguments;
+        try {
+            arguments = ArgumentParser.parse(input, tokens, method);
+        } catch (RuntimeException e) {
+            return new CaseExecution.Outcome(CaseExecution.Status.RUNTIME_ERROR,
+                    "Could not pass input to " + method.getName() + ": " + e.getMessage(), 0, false);
+        }
+        return CaseExecution.run(watchdog, method, arguments, wallMs, cpuMs, null);
+    }
+}
@@ -0,0 +1,213 @@
+package com.assessment.judge;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application's handle on one runner process. Used by one thread at a
+ * time (whoever leased it from the pool). Every exchange has a deadline:
+ * a runner that does not answer in time is killed, which ends the exchange
+ * with an IOException and {@link #isTimedOut()} set. Once an exchange has
+ * failed the runner is unusable and must be discarded.
+ */
+public final class RunnerProcess {
+
+    // Everything RunnerMain needs besides the JDK; nested classes are copied along with their host
+    private static final Class<?>[] RUNNER_CLASSES = {
+            RunnerMain.class, RunnerProtocol.class, CaseExecution.class, EntryPoint.class, ArgumentParser.class,
+            OutputFormatter.class, ByteArrayClassLoader.class, CompilationException.class, ExecutionWatchdog.class,
+            ExecutionBudget.class, ExecutionGuard.class, ExecutionCancelledError.class
+    };
+
+    private final Process process;
+    private final DataOutputStream out;
+    private final DataInputStream in;
+    private final ScheduledExecutorService timer;
+
+    private volatile boolean timedOut;
+    private volatile boolean broken;
+    private int jobs;
+    private long idleSince = System.nanoTime();
+
+    private RunnerProcess(Process process, ScheduledExecutorService timer) {
+        this.process = process;
+        this.out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream(), 64 * 1024));
+        this.in = new DataInputStream(new BufferedInputStream(process.getInputStream(), 64 * 1024));
+        this.timer = timer;
+    }
+
+    /**
+     * Writes the runner's class path into a directory: the judge classes it
+     * needs and nothing else, read from wherever the application loaded them
+     * (fat jar, AOT layout or an IDE), so runners start the same way in each.
+     */
+    public static void prepareClassPath(Path directory) throws IOException {
+        for (Class<?> host : RUNNER_CLASSES) {
+            for (Class<?> type : host.getNestMembers()) {
+                String resource = type.getName().replace('.', '/') + ".class";
+                Path target = directory.resolve(resource);
+                Files.createDirectories(target.getParent());
+                try (InputStream bytes = RunnerProcess.class.getClassLoader().getResourceAsStream(resource)) {
+                    if (bytes == null) {
+                        throw new IOException("Class file not found: " + resource);
+                    }
+                    Files.copy(bytes, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    /**
+     * Launches a runner in the given working directory and waits for it to
+     * announce itself. The runner inherits none of the application's
+     * environment (credentials are often passed that way) except PATH, which
+     * a command prefix may need to find the next program.
+     *
+     * @throws IOException when the process cannot be started or does not come up in time
+     */
+    public static RunnerProcess start(List<String> command, File directory, ScheduledExecutorService timer,
+            long startTimeoutMs) throws IOException {
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(directory)
+                .redirectError(ProcessBuilder.Redirect.DISCARD);
+        builder.environment().keySet().retainAll(Set.of("PATH"));
+        Process process = builder.start();
+        RunnerProcess runner = new RunnerProcess(process, timer);
+        ScheduledFuture<?> deadline = runner.deadline(startTimeoutMs);
+        try {
+            if (runner.in.readInt() != RunnerProtocol.HELLO) {
+                throw new IOException("Runner sent an unexpected greeting");
+            }
+        } catch (IOException e) {
+            runner.destroy();
+            throw e;
+        } finally {
+            deadline.cancel(false);
+        }
+        return runner;
+    }
+
+    /**
+     * Loads a submission's classes, replacing the previous ones.
+     *
+     * @return null when the solution method was found, otherwise why not
+     */
+    public String load(Map<String, byte[]> classes, String className, int argumentCount, long timeoutMs)
+            throws IOException {
+        jobs++;
+        ScheduledFuture<?> deadline = deadline(timeoutMs);
+        try {
+            out.writeByte(RunnerProtocol.LOAD);
+            out.writeInt(classes.size());
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                RunnerProtocol.writeString(out, entry.getKey());
+                RunnerProtocol.writeBytes(out, entry.getValue());
+            }
+            RunnerProtocol.writeString(out, className);
+            out.writeInt(argumentCount);
+            out.flush();
+            String error = in.readUnsignedByte() == RunnerProtocol.OK ? null : RunnerProtocol.readString(in);
+            if (in.readBoolean()) {
+                // Loading ran the submission's static initializers, and they left threads behind
+                broken = true;
+            }
+            return error;
+        } catch (IOException e) {
+            broken = true;
+            throw e;
+        } finally {
+            deadline.cancel(false);
+        }
+    }
+
+    // Runs one test case on the loaded classes; timeoutMs should leave the runner's own watchdog room to act first
+    public CaseExecution.Outcome run(String input, List<String> tokens, long wallMs, long cpuMs, long timeoutMs)
+            throws IOException {
+        ScheduledFuture<?> deadline = deadline(timeoutMs);
+        try {
+            out.writeByte(RunnerProtocol.RUN);
+            RunnerProtocol.writeString(out, input);
+            out.writeInt(tokens.size());
+            for (String token : tokens) {
+                RunnerProtocol.writeString(out, token);
+            }
+            out.writeLong(wallMs);
+            out.writeLong(cpuMs);
+            out.flush();
+
+            CaseExecution.Status status = CaseExecution.Status.values()[in.readUnsignedByte()];
+            CaseExecution.Outcome outcome = new CaseExecution.Outcome(status, RunnerProtocol.readString(in),
+                    in.readDouble(), in.readBoolean());
+            if (outcome.jvmDamaged()) {
+                broken = true;
+            }
+            return outcome;
+        } catch (IOException e) {
+            broken = true;
+            throw e;
+        } catch (RuntimeException e) {
+            broken = true;
+            throw new IOException("Runner sent a malformed reply", e);
+        } finally {
+            deadline.cancel(false);
+        }
+    }
+
+    // Usable for another submission: alive and never failed, timed out, damaged or left with a submission's threads
+    public boolean isUsable() {
+        return !broken && process.isAlive();
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    // Submissions loaded so far
+    public int getJobs() {
+        return jobs;
+    }
+
+    public long getIdleSince() {
+        return idleSince;
+    }
+
+    public void markIdle() {
+        idleSince = System.nanoTime();
+    }
+
+    // Exit code once the process has ended (allowing it a moment to finish dying), -1 while it still runs
+    public int exitCode() {
+        try {
+            return process.waitFor(200, TimeUnit.MILLISECONDS) ? process.exitValue() : -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    public void destroy() {
+        broken = true;
+        process.destroyForcibly();
+    }
+
+    private ScheduledFuture<?> deadline(long timeoutMs) {
+        return timer.schedule(() -> {
+            timedOut = true;
+            destroy();
+        }, timeoutMs, TimeUnit.MILLISECONDS);
+    }
+}
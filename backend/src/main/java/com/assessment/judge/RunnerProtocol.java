@@ -0,0 +1,56 @@
+package com.assessment.judge;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Framing shared by {@link RunnerProcess} and {@link RunnerMain}. After the
+ * runner announces itself with HELLO, the application sends one request at
+ * a time and reads its reply:
+ *
+ * LOAD: class count, then name and bytes per class, the class to call and
+ * its argument count; reply OK, or ERROR with a message, then whether the
+ * submission has left threads running.
+ * RUN: input, token count and tokens, wall and CPU limits in ms; reply the
+ * CaseExecution status ordinal, output, time in ms and the jvmDamaged flag,
+ * which is also set when the submission has left threads running.
+ */
+final class RunnerProtocol {
+
+    static final int HELLO = 0x4A524E31;
+
+    static final int LOAD = 1;
+    static final int RUN = 2;
+
+    static final int OK = 0;
+    static final int ERROR = 1;
+
+    private RunnerProtocol() {
+    }
+
+    // Length-prefixed UTF-8; writeUTF is limited to 64 KB, which a large output can exceed
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,91 @@
+package com.assessment.judge;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Canonical form of a submission used to recognise identical code: comments
+ * are dropped and whitespace runs outside string and char literals collapse
+ * to a single space. Whitespace is never removed entirely, so tokens such as
+ * "a - -b" keep their meaning; two sources that normalize equally compile to
+ * the same program.
+ */
+public final class SourceNormalizer {
+
+    private SourceNormalizer() {
+    }
+
+    public static String normalize(String source) {
+        StringBuilder out = new StringBuilder(source.length());
+        boolean pendingSpace = false;
+        int length = source.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = source.charAt(i);
+            char next = i + 1 < length ? source.charAt(i + 1) : '\0';
+
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+            } else if (c == '/' && next == '/') {
+                while (i < length && source.charAt(i) != '\n') {
+                    i++;
+                }
+                pendingSpace = true;
+            } else if (c == '/' && next == '*') {
+                int end = source.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                pendingSpace = true;
+            } else {
+                if (pendingSpace && out.length() > 0) {
+                    out.append(' ');
+                }
+                pendingSpace = false;
+                if (c == '"' || c == '\'') {
+                    int end = endOfLiteral(source, i);
+                    out.append(source, i, end);
+                    i = end;
+                } else {
+                    out.append(c);
+                    i++;
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    // Hex SHA-256 of the normalized source
+    public static String hash(String source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalize(source).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Index just past the string, text block or char literal starting at start
+    private static int endOfLiteral(String source, int start) {
+        char quote = source.charAt(start);
+        if (quote == '"' && source.startsWith("\"\"\"", start)) {
+            int end = source.indexOf("\"\"\"", start + 3);
+            return end < 0 ? source.length() : end + 3;
+        }
+
+        int i = start + 1;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote || c == '\n') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return source.length();
+    }
+}
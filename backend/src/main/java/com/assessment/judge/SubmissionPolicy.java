@@ -0,0 +1,249 @@
+package com.assessment.judge;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What submission code may reference, checked on the compiled classes by
+ * {@link GuardInstrumenter}. Only the budgeted thread that calls the solution
+ * ever runs student code, so everything that would run it somewhere else is
+ * refused: new threads, thread pools and the common fork/join pool (parallel
+ * streams, async futures), processes and shutdown hooks, and the reflection,
+ * method-handle and class-loading APIs that would get around these checks.
+ * So is the file system, including the runner's own standard streams, which
+ * carry its protocol, and the environment.
+ *
+ * Submissions may use java.lang, java.util, java.math, java.text, java.time,
+ * java.io and java.nio, less the members listed here. Any other package,
+ * including the application's own classes, is out of reach.
+ */
+final class SubmissionPolicy {
+
+    private static final String THREADS = "start threads or use thread pools";
+    private static final String PROCESSES = "start processes or change JVM-wide state";
+    private static final String REFLECTION = "use reflection, method handles or class loading";
+    private static final String BLOCKING = "block without a way to be stopped";
+    private static final String FINALIZERS = "declare finalizers, which run outside the time limit";
+    private static final String FILES = "read or write files or the environment";
+
+    private static final Set<String> ALLOWED_PACKAGES = Set.of(
+            "java/lang/", "java/util/", "java/math/", "java/text/", "java/time/", "java/io/", "java/nio/");
+
+    // Packages under the allowed ones that are refused as a whole
+    private static final Map<String, String> DENIED_PACKAGES = Map.ofEntries(
+            Map.entry("java/lang/reflect/", REFLECTION),
+            Map.entry("java/lang/invoke/", REFLECTION),
+            Map.entry("java/lang/runtime/", REFLECTION),
+            Map.entry("java/lang/module/", REFLECTION),
+            Map.entry("java/lang/ref/", THREADS),
+            Map.entry("java/lang/management/", PROCESSES),
+            Map.entry("java/lang/instrument/", PROCESSES),
+            Map.entry("java/util/spi/", REFLECTION),
+            Map.entry("java/util/jar/", FILES),
+            Map.entry("java/util/logging/", FILES),
+            Map.entry("java/util/prefs/", FILES),
+            Map.entry("java/nio/channels/", THREADS),
+            Map.entry("java/nio/file/", FILES));
+
+    // Classes refused outright, with their nested classes
+    private static final Map<String, String> DENIED_CLASSES = Map.ofEntries(
+            Map.entry("java/lang/ThreadGroup", THREADS),
+            Map.entry("java/lang/Process", PROCESSES),
+            Map.entry("java/lang/ProcessBuilder", PROCESSES),
+            Map.entry("java/lang/ProcessHandle", PROCESSES),
+            Map.entry("java/lang/ClassLoader", REFLECTION),
+            Map.entry("java/lang/Module", REFLECTION),
+            Map.entry("java/lang/ModuleLayer", REFLECTION),
+            Map.entry("java/lang/StackWalker", REFLECTION),
+            Map.entry("java/lang/SecurityManager", PROCESSES),
+            Map.entry("java/util/ServiceLoader", REFLECTION),
+            Map.entry("java/util/ResourceBundle", REFLECTION),
+            Map.entry("java/util/Timer", THREADS),
+            Map.entry("java/util/concurrent/Executor", THREADS),
+            Map.entry("java/util/concurrent/Executors", THREADS),
+            Map.entry("java/util/concurrent/ExecutorService", THREADS),
+            Map.entry("java/util/concurrent/ScheduledExecutorService", THREADS),
+            Map.entry("java/util/concurrent/AbstractExecutorService", THREADS),
+            Map.entry("java/util/concurrent/ThreadPoolExecutor", THREADS),
+            Map.entry("java/util/concurrent/ScheduledThreadPoolExecutor", THREADS),
+            Map.entry("java/util/concurrent/ExecutorCompletionService", THREADS),
+            Map.entry("java/util/concurrent/ThreadFactory", THREADS),
+            Map.entry("java/util/concurrent/ForkJoinPool", THREADS),
+            Map.entry("java/util/concurrent/ForkJoinTask", THREADS),
+            Map.entry("java/util/concurrent/ForkJoinWorkerThread", THREADS),
+            Map.entry("java/util/concurrent/RecursiveTask", THREADS),
+            Map.entry("java/util/concurrent/RecursiveAction", THREADS),
+            Map.entry("java/util/concurrent/CountedCompleter", THREADS),
+            Map.entry("java/util/concurrent/CompletableFuture", THREADS),
+            Map.entry("java/util/concurrent/CompletionStage", THREADS),
+            Map.entry("java/util/concurrent/SubmissionPublisher", THREADS),
+            Map.entry("java/util/concurrent/StructuredTaskScope", THREADS),
+            Map.entry("java/util/concurrent/Phaser", BLOCKING),
+            Map.entry("java/util/stream/StreamSupport", THREADS),
+            Map.entry("java/io/File", FILES),
+            Map.entry("java/io/FileDescriptor", FILES),
+            Map.entry("java/io/FileInputStream", FILES),
+            Map.entry("java/io/FileOutputStream", FILES),
+            Map.entry("java/io/FileReader", FILES),
+            Map.entry("java/io/FileWriter", FILES),
+            Map.entry("java/io/RandomAccessFile", FILES),
+            Map.entry("java/io/Console", FILES),
+            Map.entry("java/io/ObjectInputStream", REFLECTION),
+            Map.entry("java/util/zip/ZipFile", FILES));
+
+    // Classes with constructors that open the file named by their first (String) argument
+    private static final Set<String> FILE_NAME_CONSTRUCTORS = Set.of(
+            "java/io/PrintStream", "java/io/PrintWriter", "java/util/Formatter");
+
+    // Classes of which only these members may be used
+    private static final Map<String, Set<String>> ALLOWED_MEMBERS = Map.of(
+            "java/lang/Thread", Set.of("currentThread", "sleep", "yield", "onSpinWait", "interrupted",
+                    "isInterrupted", "interrupt", "getName", "getId", "threadId", "getStackTrace", "holdsLock",
+                    "getPriority", "isDaemon", "isAlive", "getState", "toString", "hashCode", "equals"),
+            "java/lang/Runtime", Set.of("getRuntime", "availableProcessors", "freeMemory", "maxMemory",
+                    "totalMemory", "gc", "version"),
+            "java/lang/Class", Set.of("getName", "getSimpleName", "getTypeName", "getCanonicalName",
+                    "getPackageName", "isInstance", "cast", "isArray", "isPrimitive", "isInterface", "isEnum",
+                    "isRecord", "isAssignableFrom", "getComponentType", "componentType", "arrayType",
+                    "getSuperclass", "getEnumConstants", "desiredAssertionStatus", "toString", "hashCode",
+                    "equals"));
+
+    // Members refused on classes that are otherwise allowed
+    private static final Map<String, Map<String, String>> DENIED_MEMBERS = Map.of(
+            "java/lang/System", Map.ofEntries(
+                    // Standard input of the application, which may be a terminal nobody types into
+                    Map.entry("in", BLOCKING),
+                    Map.entry("exit", PROCESSES),
+                    Map.entry("setIn", PROCESSES),
+                    Map.entry("setOut", PROCESSES),
+                    Map.entry("setErr", PROCESSES),
+                    Map.entry("setProperty", PROCESSES),
+                    Map.entry("clearProperty", PROCESSES),
+                    Map.entry("setProperties", PROCESSES),
+                    Map.entry("setSecurityManager", PROCESSES),
+                    Map.entry("getenv", FILES),
+                    Map.entry("console", FILES),
+                    Map.entry("inheritedChannel", FILES),
+                    Map.entry("load", REFLECTION),
+                    Map.entry("loadLibrary", REFLECTION)),
+            "java/util/Locale", Map.of("setDefault", PROCESSES),
+            "java/util/TimeZone", Map.of("setDefault", PROCESSES));
+
+    private SubmissionPolicy() {
+    }
+
+    /**
+     * Why a class may not extend the given superclass, or null when it may.
+     * A subclass of Thread or of a pool would otherwise get its methods
+     * through inheritance, out of sight of the member checks.
+     */
+    static String checkSuperclass(String superName, Set<String> ownClasses) {
+        if (superName == null || ownClasses.contains(superName)) {
+            return null;
+        }
+        if (superName.equals("java/lang/Thread")) {
+            return THREADS;
+        }
+        return checkClass(superName);
+    }
+
+    // Finalizers run on the JVM's finalizer thread, outside any budget
+    static String checkDeclaration(String name, String descriptor) {
+        return name.equals("finalize") && descriptor.equals("()V") ? FINALIZERS : null;
+    }
+
+    /**
+     * Why submission code may not use a field or method, or null when it may.
+     * A member named through one of the submission's own classes is checked
+     * against the first library class that class inherits from.
+     *
+     * @param owner internal name of the class the reference names
+     * @param supers superclass of each of the submission's own classes
+     */
+    static String checkMember(String owner, String name, String descriptor, Map<String, String> supers) {
+        // Parallel streams run the pipeline on the common fork/join pool, whatever the receiver's type
+        if (name.equals("parallelStream")) {
+            return THREADS;
+        }
+        if (name.endsWith("Uninterruptibly")) {
+            return BLOCKING;
+        }
+
+        while (supers.containsKey(owner)) {
+            owner = supers.get(owner);
+        }
+        if (owner.startsWith("[")) {
+            return null;
+        }
+
+        String denied = checkClass(owner);
+        if (denied != null) {
+            return denied;
+        }
+        Set<String> allowed = ALLOWED_MEMBERS.get(owner);
+        if (allowed != null && !allowed.contains(name)) {
+            return owner.equals("java/lang/Thread") ? THREADS
+                    : owner.equals("java/lang/Runtime") ? PROCESSES : REFLECTION;
+        }
+        Map<String, String> members = DENIED_MEMBERS.get(owner);
+        if (members != null && members.containsKey(name)) {
+            return members.get(name);
+        }
+
+        if (name.equals("<init>") && FILE_NAME_CONSTRUCTORS.contains(owner)
+                && descriptor.startsWith("(Ljava/lang/String;")) {
+            return FILES;
+        }
+        if (owner.startsWith("java/util/stream/") && name.equals("parallel")) {
+            return THREADS;
+        }
+        if (owner.equals("java/util/Arrays") && name.startsWith("parallel")) {
+            return THREADS;
+        }
+        // Bulk operations taking a parallelism threshold run on the common pool
+        if (owner.startsWith("java/util/concurrent/ConcurrentHashMap") && descriptor.startsWith("(J")) {
+            return THREADS;
+        }
+        return null;
+    }
+
+    /**
+     * Why submission code may not use a class at all, or null when it may,
+     * possibly only in part.
+     */
+    static String checkClass(String owner) {
+        if (owner.startsWith("[")) {
+            return null;
+        }
+        String outer = owner.indexOf('$') > 0 ? owner.substring(0, owner.indexOf('$')) : owner;
+        if (outer.equals("java/lang/Thread") && !outer.equals(owner) && !owner.equals("java/lang/Thread$State")) {
+            return THREADS;
+        }
+        String denied = DENIED_CLASSES.get(outer);
+        if (denied != null) {
+            return denied;
+        }
+
+        boolean allowedPackage = false;
+        for (String prefix : ALLOWED_PACKAGES) {
+            if (owner.startsWith(prefix)) {
+                allowedPackage = true;
+                break;
+            }
+        }
+        if (!allowedPackage) {
+            return "use " + packageOf(owner);
+        }
+        for (Map.Entry<String, String> entry : DENIED_PACKAGES.entrySet()) {
+            if (owner.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String packageOf(String owner) {
+        int slash = owner.lastIndexOf('/');
+        return slash > 0 ? owner.substring(0, slash).replace('/', '.') : owner;
+    }
+}
@@ -0,0 +1,70 @@
+package com.assessment.judge;
+
+import java.util.List;
+
+/**
+ * One input/expected-output pair from a question's test cases, pre-processed
+ * when the question is saved: the input is already split into argument
+ * tokens and the expected output is already normalized for comparison.
+ *
+ * The expected output may be left out of the stored JSON and filled in from
+ * the question's reference solution, which also records how long the
+ * reference took on this input. Only an expected output written in the
+ * stored JSON is ever shown to students; the question reveals that JSON once
+ * it is released, but never the outputs computed from the reference.
+ */
+public class TestCase {
+
+    private final String input;
+    private final String expected;
+    private final String publicExpected;
+    private final List<String> tokens;
+    private final String normalizedExpected;
+    private final double referenceTimeMs;
+
+    public TestCase(String input, String expected) {
+        this(input, expected, expected, List.copyOf(ArgumentParser.split(input)), 0);
+    }
+
+    private TestCase(String input, String expected, String publicExpected, List<String> tokens,
+            double referenceTimeMs) {
+        this.input = input;
+        this.expected = expected;
+        this.publicExpected = publicExpected;
+        this.tokens = tokens;
+        this.normalizedExpected = expected != null ? OutputFormatter.normalize(expected) : null;
+        this.referenceTimeMs = referenceTimeMs;
+    }
+
+    // Same case with the reference solution's output as expected value and its measured runtime
+    TestCase withReference(String output, double timeMs) {
+        return new TestCase(input, expected != null ? expected : output, publicExpected, tokens, timeMs);
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    // Null when neither the stored JSON nor a reference run supplied one
+    public String getExpected() {
+        return expected;
+    }
+
+    // The expected output as stored with the question, or null when it comes from the reference solution
+    public String getPublicExpected() {
+        return publicExpected;
+    }
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    // Reference solution runtime on this input, or 0 when it was not measured
+    public double getReferenceTimeMs() {
+        return referenceTimeMs;
+    }
+
+    public boolean matches(String output) {
+        return normalizedExpected != null && OutputFormatter.normalize(output).equals(normalizedExpected);
+    }
+}
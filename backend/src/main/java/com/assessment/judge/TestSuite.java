@@ -0,0 +1,194 @@
+package com.assessment.judge;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, parsed form of a question's test cases. Built once when the
+ * question is saved (or first judged) so grading never parses JSON. The
+ * version is a fingerprint of the source JSON, so it is the same on every node
+ * and changes exactly when the test cases do.
+ *
+ * Arguments converted for a given method signature are memoized too; each
+ * call gets a deep copy so one submission cannot mutate another's input.
+ *
+ * When the question has a reference solution its outputs and runtimes are
+ * folded in with {@link #withReference}, so grading compares against stored
+ * results and never runs the reference code itself.
+ */
+public final class TestSuite {
+
+    private final Long questionId;
+    private final long version;
+    private final List<TestCase> testCases;
+    private final String error;
+    private final boolean referenced;
+    private final Map<String, Converted> argumentsBySignature = new ConcurrentHashMap<>();
+
+    private TestSuite(Long questionId, long version, List<TestCase> testCases, String error, boolean referenced) {
+        this.questionId = questionId;
+        this.version = version;
+        this.testCases = testCases;
+        this.error = error;
+        this.referenced = referenced;
+    }
+
+    /**
+     * Parses and validates the test-case JSON stored on a question.
+     *
+     * @throws IllegalArgumentException describing the first problem found
+     */
+    public static TestSuite parse(Long questionId, String json, ObjectMapper objectMapper) {
+        List<TestCase> testCases = new ArrayList<>();
+        if (json == null || json.isBlank()) {
+            return new TestSuite(questionId, 0, Collections.emptyList(), null, false);
+        }
+
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Test cases are not valid JSON: " + e.getOriginalMessage());
+        }
+        if (!root.isArray()) {
+            throw new IllegalArgumentException("Test cases must be a JSON array of {\"input\", \"expected\"} objects");
+        }
+
+        for (int i = 0; i < root.size(); i++) {
+            JsonNode node = root.get(i);
+            if (!node.isObject() || !node.has("input")) {
+                throw new IllegalArgumentException("Test case " + (i + 1) + " needs an \"input\"");
+            }
+            // "expected" may be left out when the reference solution is meant to produce it
+            String expected = node.has("expected") ? text(node.get("expected")) : null;
+            testCases.add(new TestCase(text(node.get("input")), expected));
+        }
+        return new TestSuite(questionId, fingerprint(json), Collections.unmodifiableList(testCases), null, false);
+    }
+
+    // Placeholder for a question whose stored test cases could not be parsed
+    public static TestSuite invalid(Long questionId, String error) {
+        return new TestSuite(questionId, 0, Collections.emptyList(), error, false);
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<TestCase> getTestCases() {
+        return testCases;
+    }
+
+    // Why the suite cannot be judged, or null when it can
+    public String getError() {
+        return error;
+    }
+
+    // Whether expected outputs and runtimes come from a reference solution run
+    public boolean isReferenced() {
+        return referenced;
+    }
+
+    // Index of the first case without an expected output, or -1 when every case has one
+    public int firstMissingExpected() {
+        for (int i = 0; i < testCases.size(); i++) {
+            if (testCases.get(i).getExpected() == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copy of this suite with the reference solution's outputs filled in where
+     * no expected output was stored, and its runtimes attached to every case.
+     * The version then also covers the reference code.
+     *
+     * @throws IllegalArgumentException when the reference disagrees with a stored expected output
+     */
+    public TestSuite withReference(List<String> outputs, double[] timesMs, String solution) {
+        List<TestCase> referenced = new ArrayList<>(testCases.size());
+        for (int i = 0; i < testCases.size(); i++) {
+            TestCase testCase = testCases.get(i);
+            if (testCase.getExpected() != null && !testCase.matches(outputs.get(i))) {
+                throw new IllegalArgumentException("Reference solution returns " + outputs.get(i)
+                        + " for test case " + (i + 1) + " but the expected output is " + testCase.getExpected());
+            }
+            referenced.add(testCase.withReference(outputs.get(i), timesMs[i]));
+        }
+        long referencedVersion = 31 * version + fingerprint(solution);
+        return new TestSuite(questionId, referencedVersion, Collections.unmodifiableList(referenced), null, true);
+    }
+
+    // Same suite attached to a question id, for suites prepared before the question was first saved
+    public TestSuite forQuestion(Long questionId) {
+        if (Objects.equals(this.questionId, questionId)) {
+            return this;
+        }
+        return new TestSuite(questionId, version, testCases, error, referenced);
+    }
+
+    /**
+     * Arguments for one test case converted to the method's parameter types.
+     * Conversion happens once per signature; callers get a private copy.
+     */
+    public Object[] argumentsFor(int index, Method method) {
+        Converted converted = argumentsBySignature.computeIfAbsent(
+                Arrays.toString(method.getGenericParameterTypes()), signature -> convert(method));
+        if (converted.errors[index] != null) {
+            throw new IllegalArgumentException(converted.errors[index]);
+        }
+        return ArgumentParser.copy(converted.arguments[index]);
+    }
+
+    private Converted convert(Method method) {
+        Object[][] arguments = new Object[testCases.size()][];
+        String[] errors = new String[testCases.size()];
+        for (int i = 0; i < testCases.size(); i++) {
+            TestCase testCase = testCases.get(i);
+            try {
+                arguments[i] = ArgumentParser.parse(testCase.getInput(), testCase.getTokens(), method);
+            } catch (RuntimeException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+        return new Converted(arguments, errors);
+    }
+
+    private static String text(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return "";
+        }
+        return node.isTextual() ? node.asText() : node.toString();
+    }
+
+    private static long fingerprint(String json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Converted(Object[][] arguments, String[] errors) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.assessment.judge;
+
+public enum Verdict {
+    ACCEPTED,
+    WRONG_ANSWER,
+    TIME_LIMIT_EXCEEDED,
+    RUNTIME_ERROR,
+    COMPILATION_ERROR,
+    // The question itself cannot be judged (no or malformed test cases, no compiler)
+    SYSTEM_ERROR,
+    // Test case not run because an earlier one failed (fail-fast judging)
+    SKIPPED
+}
@@ -0,0 +1,174 @@
+package com.assessment.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic treap: a balanced-in-expectation binary search tree where
+ * every node also knows the size of its subtree. Insert, remove, rank of an
+ * element and element at a rank all take O(log n); listing the first k
+ * elements takes O(log n + k).
+ *
+ * Elements must be distinct under the comparator. Not thread-safe.
+ */
+public class RankTree<T> {
+
+    private final Comparator<? super T> comparator;
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<T> root;
+
+    public RankTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public void insert(T value) {
+        Node<T>[] parts = split(root, value);
+        root = merge(merge(parts[0], new Node<>(value, random.nextInt())), parts[1]);
+    }
+
+    // Removes the element equal to value under the comparator; false when there is none
+    public boolean remove(T value) {
+        int before = size();
+        root = remove(root, value);
+        return size() < before;
+    }
+
+    // Number of elements ordered before value, i.e. its zero-based rank if it is present
+    public int rank(T value) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+            if (cmp <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    // Element at a zero-based rank
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // The first limit elements in order
+    public List<T> first(int limit) {
+        List<T> values = new ArrayList<>(Math.min(limit, size()));
+        collect(root, values, limit);
+        return values;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    private void collect(Node<T> node, List<T> values, int limit) {
+        if (node == null || values.size() >= limit) {
+            return;
+        }
+        collect(node.left, values, limit);
+        if (values.size() < limit) {
+            values.add(node.value);
+            collect(node.right, values, limit);
+        }
+    }
+
+    private Node<T> remove(Node<T> node, T value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(value, node.value);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, value);
+        } else {
+            node.right = remove(node.right, value);
+        }
+        node.update();
+        return node;
+    }
+
+    // Splits into elements ordered before value and the rest
+    @SuppressWarnings("unchecked")
+    private Node<T>[] split(Node<T> node, T value) {
+        if (node == null) {
+            return new Node[] { null, null };
+        }
+        if (comparator.compare(node.value, value) < 0) {
+            Node<T>[] parts = split(node.right, value);
+            node.right = parts[0];
+            node.update();
+            parts[0] = node;
+            return parts;
+        }
+        Node<T>[] parts = split(node.left, value);
+        node.left = parts[1];
+        node.update();
+        parts[1] = node;
+        return parts;
+    }
+
+    // Joins two treaps where every element of left orders before every element of right
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<T> {
+        final T value;
+        final int priority;
+        Node<T> left;
+        Node<T> right;
+        int size = 1;
+
+        Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        void update() {
+            size = 1 + RankTree.size(left) + RankTree.size(right);
+        }
+    }
+}
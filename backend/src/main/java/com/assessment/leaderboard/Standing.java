@@ -0,0 +1,30 @@
+package com.assessment.leaderboard;
+
+import java.util.Comparator;
+
+/**
+ * A participant's position-deciding totals. Immutable, so it can sit in a
+ * {@link RankTree}; every change produces a new standing that replaces the
+ * old one in the tree.
+ *
+ * Ordered by most problems solved, then least penalty time, then whoever
+ * reached their last solve first, with the student id as a final tie-break
+ * so distinct participants never compare equal.
+ */
+public record Standing(String studentId, int solved, long penaltyMinutes, long lastSolvedMillis) {
+
+    public static final Comparator<Standing> ORDER = Comparator
+            .comparingInt(Standing::solved).reversed()
+            .thenComparingLong(Standing::penaltyMinutes)
+            .thenComparingLong(Standing::lastSolvedMillis)
+            .thenComparing(Standing::studentId);
+
+    public static Standing empty(String studentId) {
+        return new Standing(studentId, 0, 0, 0);
+    }
+
+    public Standing withSolve(long penaltyMinutes, long solvedMillis) {
+        return new Standing(studentId, solved + 1, this.penaltyMinutes + penaltyMinutes,
+                Math.max(lastSolvedMillis, solvedMillis));
+    }
+}
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "questions")
+@Table(name = "questions", indexes = {
+        @Index(name = "idx_questions_release_id", columnList = "releaseTime, id")
+})
 public class Question {
 
     @Id
@@ -32,6 +34,10 @@ public class Question {
     @Column(nullable = false)
     private LocalDateTime releaseTime;
 
+    // Hash of the built-in seed content last written to this row, so startup can skip unchanged seeds
+    @Column(length = 64)
+    private String contentHash;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -117,6 +123,14 @@ public class Question {
         this.createdAt = createdAt;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
@@ -0,0 +1,85 @@
+package com.assessment.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One admin write to the question bank, read by the other nodes to keep their caches in step
+@Entity
+@Table(name = "question_changes")
+public class QuestionChange {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long questionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    // Node that made the change; it has already applied it locally
+    @Column(nullable = false, length = 64)
+    private String nodeId;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    // Constructors
+    public QuestionChange() {
+        this.changedAt = LocalDateTime.now();
+    }
+
+    public QuestionChange(Long questionId, Type type, String nodeId) {
+        this();
+        this.questionId = questionId;
+        this.type = type;
+        this.nodeId = nodeId;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public void setQuestionId(Long questionId) {
+        this.questionId = questionId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,68 @@
+package com.assessment.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A Student ID bound to the browser that first signed in with it; only the hash of its claim token is kept
+@Entity
+@Table(name = "student_claims")
+public class StudentClaim {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Unique, so two nodes claiming the same ID at once cannot both succeed
+    @Column(unique = true, nullable = false, length = 64)
+    private String studentId;
+
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private LocalDateTime claimedAt;
+
+    // Constructors
+    public StudentClaim() {
+        this.claimedAt = LocalDateTime.now();
+    }
+
+    public StudentClaim(String studentId, String tokenHash) {
+        this();
+        this.studentId = studentId;
+        this.tokenHash = tokenHash;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+}
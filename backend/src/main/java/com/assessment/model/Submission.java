@@ -0,0 +1,180 @@
+package com.assessment.model;
+
+import com.assessment.dto.SubmissionResult;
+import com.assessment.judge.Verdict;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "submissions", indexes = {
+        @Index(name = "idx_submissions_student", columnList = "studentId"),
+        @Index(name = "idx_submissions_written", columnList = "writtenAt"),
+        @Index(name = "idx_submissions_question", columnList = "questionId")
+})
+public class Submission {
+
+    // Sequence ids (allocated 50 at a time) let Hibernate batch inserts; IDENTITY forces one round trip per row
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "submission_seq")
+    @SequenceGenerator(name = "submission_seq", sequenceName = "submission_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long questionId;
+
+    private String studentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Verdict verdict;
+
+    @Column(nullable = false)
+    private int score;
+
+    @Column(nullable = false)
+    private int passedCount;
+
+    @Column(nullable = false)
+    private int totalCount;
+
+    @Column(nullable = false)
+    private double timeMs;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String code;
+
+    @Column(nullable = false)
+    private LocalDateTime submittedAt;
+
+    // Version of the test suite the verdict was reached against; a test-case edit makes older verdicts stale
+    private Long suiteVersion;
+
+    // When the row was last written (inserted or rejudged); other nodes pick up changes to their standings by it
+    private LocalDateTime writtenAt;
+
+    // Constructors
+    public Submission() {
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    public static Submission of(String studentId, String code, long suiteVersion, SubmissionResult result) {
+        Submission submission = new Submission();
+        submission.setSuiteVersion(suiteVersion);
+        submission.setQuestionId(result.getQuestionId());
+        submission.setStudentId(studentId);
+        submission.setVerdict(result.getVerdict());
+        submission.setScore(result.getScore());
+        submission.setPassedCount(result.getPassedCount());
+        submission.setTotalCount(result.getTotalCount());
+        submission.setTimeMs(result.getTimeMs());
+        submission.setCode(code);
+        return submission;
+    }
+
+    // Replace the verdict with one reached against a newer version of the test suite
+    public void rejudged(long suiteVersion, SubmissionResult result) {
+        setSuiteVersion(suiteVersion);
+        setVerdict(result.getVerdict());
+        setScore(result.getScore());
+        setPassedCount(result.getPassedCount());
+        setTotalCount(result.getTotalCount());
+        setTimeMs(result.getTimeMs());
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public void setQuestionId(Long questionId) {
+        this.questionId = questionId;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public Verdict getVerdict() {
+        return verdict;
+    }
+
+    public void setVerdict(Verdict verdict) {
+        this.verdict = verdict;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    public int getPassedCount() {
+        return passedCount;
+    }
+
+    public void setPassedCount(int passedCount) {
+        this.passedCount = passedCount;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(int totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public double getTimeMs() {
+        return timeMs;
+    }
+
+    public void setTimeMs(double timeMs) {
+        this.timeMs = timeMs;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Long getSuiteVersion() {
+        return suiteVersion;
+    }
+
+    public void setSuiteVersion(Long suiteVersion) {
+        this.suiteVersion = suiteVersion;
+    }
+
+    public LocalDateTime getWrittenAt() {
+        return writtenAt;
+    }
+
+    public void setWrittenAt(LocalDateTime writtenAt) {
+        this.writtenAt = writtenAt;
+    }
+}
@@ -0,0 +1,25 @@
+package com.assessment.repository;
+
+import com.assessment.model.QuestionChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface QuestionChangeRepository extends JpaRepository<QuestionChange, Long> {
+    // Single index lookup; lets the poller skip fetching rows when nothing changed
+    @Query("select coalesce(max(c.id), 0) from QuestionChange c")
+    long findLatestId();
+
+    List<QuestionChange> findByIdGreaterThanOrderByIdAsc(Long id);
+
+    @Modifying
+    @Transactional
+    @Query("delete from QuestionChange c where c.changedAt < :cutoff")
+    int deleteOlderThan(LocalDateTime cutoff);
+}
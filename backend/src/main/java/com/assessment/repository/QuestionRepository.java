@@ -1,14 +1,30 @@
 package com.assessment.repository;
 
 import com.assessment.model.Question;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findAllByOrderByReleaseTimeAsc();
 
     java.util.Optional<Question> findByTitle(String title);
+
+    // One query per import chunk instead of one findByTitle per record
+    List<Question> findByTitleIn(Collection<String> titles);
+
+    List<QuestionSeedState> findSeedStatesByTitleIn(Collection<String> titles);
+
+    // Rows are fetched from the cursor as the stream is consumed; must be read inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "50"))
+    @Query("select q from Question q order by q.id")
+    Stream<Question> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,10 @@
+package com.assessment.repository;
+
+// What startup seeding needs to decide whether a built-in question changed, without reading its text
+public interface QuestionSeedState {
+    Long getId();
+
+    String getTitle();
+
+    String getContentHash();
+}
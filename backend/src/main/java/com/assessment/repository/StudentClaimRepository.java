@@ -0,0 +1,16 @@
+package com.assessment.repository;
+
+import com.assessment.model.StudentClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface StudentClaimRepository extends JpaRepository<StudentClaim, Long> {
+    Optional<StudentClaim> findByStudentId(String studentId);
+
+    @Transactional
+    long deleteByStudentId(String studentId);
+}
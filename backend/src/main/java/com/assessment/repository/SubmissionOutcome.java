@@ -0,0 +1,18 @@
+package com.assessment.repository;
+
+import com.assessment.judge.Verdict;
+
+import java.time.LocalDateTime;
+
+// Just the columns the leaderboard needs, so rebuilding it never loads submitted code
+public interface SubmissionOutcome {
+    Long getId();
+
+    Long getQuestionId();
+
+    String getStudentId();
+
+    Verdict getVerdict();
+
+    LocalDateTime getSubmittedAt();
+}
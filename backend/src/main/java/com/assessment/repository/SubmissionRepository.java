@@ -0,0 +1,23 @@
+package com.assessment.repository;
+
+import com.assessment.model.Submission;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SubmissionRepository extends JpaRepository<Submission, Long> {
+    List<SubmissionOutcome> findByStudentIdIsNotNullOrderBySubmittedAtAscIdAsc();
+
+    // Rows inserted or rejudged since the given time, on any node
+    List<SubmissionOutcome> findByStudentIdIsNotNullAndWrittenAtGreaterThanEqual(LocalDateTime since);
+
+    // A question's submissions judged against some other version of its test suite, in id order
+    @Query("select s from Submission s where s.questionId = :questionId and s.id > :afterId"
+            + " and (s.suiteVersion is null or s.suiteVersion <> :version) order by s.id")
+    List<Submission> findStale(Long questionId, long version, Long afterId, Pageable page);
+}
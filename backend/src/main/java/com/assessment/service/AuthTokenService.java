@@ -0,0 +1,137 @@
+package com.assessment.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Issues and verifies stateless session tokens: the user's id, name, role
+ * and expiry, signed with HMAC-SHA256. Verifying needs only the shared
+ * secret, so any instance behind a plain round-robin balancer can accept a
+ * token issued by another and nothing is kept on the server per user.
+ *
+ * Format: base64url(claims JSON) "." base64url(signature).
+ */
+@Service
+public class AuthTokenService {
+
+    public static final String COOKIE_NAME = "AUTH_TOKEN";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.auth.token-ttl-minutes:720}")
+    private long ttlMinutes;
+
+    @Value("${app.auth.cookie-secure:false}")
+    private boolean cookieSecure;
+
+    @Value("${app.auth.cookie-same-site:Lax}")
+    private String cookieSameSite;
+
+    private final SecretKeySpec key;
+
+    // Mac instances are not thread-safe; keep one per thread instead of creating one per request
+    private final ThreadLocal<Mac> macs;
+
+    public AuthTokenService(@Value("${app.auth.token-secret:}") String secret) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            System.out.println("⚠ app.auth.token-secret is not set; using a random key, so tokens"
+                    + " are lost on restart and not accepted by other instances");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+        });
+    }
+
+    public String issue(AuthenticatedUser user) {
+        ObjectNode claims = objectMapper.createObjectNode();
+        claims.put("uid", user.userId());
+        claims.put("sub", user.username());
+        claims.put("role", user.role());
+        claims.put("exp", System.currentTimeMillis() / 1000 + ttlMinutes * 60);
+
+        String payload = ENCODER.encodeToString(claims.toString().getBytes(StandardCharsets.UTF_8));
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    // The user a token was issued to, or null when it is malformed, tampered with or expired
+    public AuthenticatedUser verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        String payload = token.substring(0, dot);
+
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return null;
+            }
+
+            JsonNode claims = objectMapper.readTree(DECODER.decode(payload));
+            if (claims.path("exp").asLong() < System.currentTimeMillis() / 1000) {
+                return null;
+            }
+            // Students sign in without an account, so their tokens carry no user id
+            Long userId = claims.hasNonNull("uid") ? claims.get("uid").asLong() : null;
+            return new AuthenticatedUser(userId, claims.path("sub").asText(), claims.path("role").asText());
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    // Cookie carrying a freshly issued token
+    public ResponseCookie cookieFor(AuthenticatedUser user) {
+        return cookie(issue(user), Duration.ofMinutes(ttlMinutes));
+    }
+
+    // Cookie that makes the browser drop the token
+    public ResponseCookie clearingCookie() {
+        return cookie("", Duration.ZERO);
+    }
+
+    private ResponseCookie cookie(String value, Duration maxAge) {
+        return ResponseCookie.from(COOKIE_NAME, value)
+                .httpOnly(true)
+                .secure(cookieSecure)
+                .sameSite(cookieSameSite)
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,21 @@
+package com.assessment.service;
+
+import java.security.Principal;
+
+/**
+ * The signed-in user as carried by the session or by a signed token. Set as
+ * the Spring Security principal, so controllers can take it with
+ * {@code @AuthenticationPrincipal}.
+ *
+ * Students have no account: their userId is null, the username is their
+ * Student ID and the role is {@link #STUDENT_ROLE}.
+ */
+public record AuthenticatedUser(Long userId, String username, String role) implements Principal {
+
+    public static final String STUDENT_ROLE = "STUDENT";
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
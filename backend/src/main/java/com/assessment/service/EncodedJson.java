@@ -0,0 +1,76 @@
+package com.assessment.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A JSON response body encoded once and served many times: the plain bytes,
+ * plus the gzip form, compressed on first use and then reused. Apart from
+ * that memoized gzip an instance never changes, and computing the gzip twice
+ * in a race is harmless.
+ */
+public final class EncodedJson {
+
+    // Below this, gzip framing eats most of the saving; Tomcat uses a similar cutoff
+    private static final int MIN_GZIP_BYTES = 1024;
+
+    private final byte[] identity;
+    private volatile byte[] gzip;
+
+    public EncodedJson(byte[] identity) {
+        this.identity = identity;
+    }
+
+    // A JSON array of already encoded elements, joined without serializing anything again
+    public static EncodedJson arrayOf(List<EncodedJson> elements) {
+        int length = 2 + Math.max(0, elements.size() - 1);
+        for (EncodedJson element : elements) {
+            length += element.identity.length;
+        }
+
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        bytes[offset++] = '[';
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) {
+                bytes[offset++] = ',';
+            }
+            byte[] element = elements.get(i).identity;
+            System.arraycopy(element, 0, bytes, offset, element.length);
+            offset += element.length;
+        }
+        bytes[offset] = ']';
+        return new EncodedJson(bytes);
+    }
+
+    public byte[] identity() {
+        return identity;
+    }
+
+    // Gzip-compressed body, or null when the body is too small for compression to pay off
+    public byte[] gzip() {
+        if (identity.length < MIN_GZIP_BYTES) {
+            return null;
+        }
+        byte[] compressed = gzip;
+        if (compressed == null) {
+            compressed = compress(identity);
+            gzip = compressed;
+        }
+        return compressed;
+    }
+
+    private static byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(bytes);
+        } catch (IOException e) {
+            // Writing to memory does not fail
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,68 @@
+package com.assessment.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded pool that judging runs on, so a burst of submissions
+ * queues here instead of occupying Tomcat request threads. When the queue is
+ * full new work is rejected immediately rather than piling up.
+ */
+@Service
+public class JudgeExecutor {
+
+    // Submission code may recurse deeply; give workers a larger stack than the default
+    private static final long WORKER_STACK_SIZE = 64L * 1024 * 1024;
+
+    private final ThreadPoolExecutor executor;
+
+    public JudgeExecutor(
+            @Value("${app.judge.workers:0}") int workers,
+            @Value("${app.judge.queue-capacity:64}") int queueCapacity) {
+        // By default leave half the cores for request handling
+        int threads = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(null, runnable, "judge-worker-" + counter.incrementAndGet(),
+                            WORKER_STACK_SIZE);
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queues a judging task.
+     *
+     * @throws RejectedExecutionException when every worker is busy and the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,494 @@
+package com.assessment.service;
+
+import com.assessment.dto.SubmissionResult;
+import com.assessment.dto.TestCaseResult;
+import com.assessment.judge.CaseExecution;
+import com.assessment.judge.CompilationException;
+import com.assessment.judge.EntryPoint;
+import com.assessment.judge.ExecutionBudget;
+import com.assessment.judge.ExecutionWatchdog;
+import com.assessment.judge.GuardInstrumenter;
+import com.assessment.judge.InMemoryJavaCompiler;
+import com.assessment.judge.JudgeMode;
+import com.assessment.judge.RunnerProcess;
+import com.assessment.judge.TestCase;
+import com.assessment.judge.TestSuite;
+import com.assessment.judge.Verdict;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Grades Java submissions locally: compiles the code in memory, then calls the
+ * solution method once per stored test case and compares the formatted return
+ * value with the expected output. Meant to run on {@link JudgeExecutor}
+ * workers; every test case gets a wall-clock and CPU-time budget enforced by
+ * the watchdog through checkpoints instrumented into the submission. When the
+ * question's reference solution was timed on that input, the budget is a
+ * multiple of the reference runtime instead of the flat configured limit.
+ *
+ * Test cases of one submission are claimed one at a time by the judge worker
+ * and any idle case runner, so a suite with many independent cases finishes
+ * in roughly 1/n of the sequential time. Under load the runners are busy and
+ * each judge worker simply runs its own cases. Every thread loads its own
+ * copy of the submission's classes, so static fields are never shared
+ * between cases running at the same time.
+ *
+ * With app.judge.isolation=process, submissions are still compiled here but
+ * loaded and run in runner processes leased from {@link RunnerPool}, one per
+ * participating thread. Reference solutions come from admins and always run
+ * in-process.
+ */
+@Service
+public class JudgeService {
+
+    @Value("${app.judge.time-limit-ms:2000}")
+    private long timeLimitMs;
+
+    @Value("${app.judge.cpu-time-limit-ms:2000}")
+    private long cpuTimeLimitMs;
+
+    @Value("${app.judge.reference-time-factor:5}")
+    private double referenceTimeFactor;
+
+    @Value("${app.judge.min-time-limit-ms:500}")
+    private long minTimeLimitMs;
+
+    @Value("${app.judge.parallel-cases:true}")
+    private boolean parallelCases;
+
+    @Value("${app.judge.case-workers:0}")
+    private int caseWorkers;
+
+    @Value("${app.judge.parallel-threshold-ms:10}")
+    private double parallelThresholdMs;
+
+    // How long past its wall-clock limit a runner may stay silent before it is killed
+    @Value("${app.judge.runner.kill-grace-ms:1000}")
+    private long killGraceMs;
+
+    // Null outside a Spring context (benchmarks), where submissions always run in-process
+    @Autowired
+    private RunnerPool runnerPool;
+
+    // Case runners need the same deep-recursion stack as judge workers
+    private static final long RUNNER_STACK_SIZE = 64L * 1024 * 1024;
+
+    private final InMemoryJavaCompiler compiler = new InMemoryJavaCompiler();
+    private final ExecutionWatchdog watchdog = new ExecutionWatchdog();
+
+    // Null when cases run only on the judging thread
+    private ThreadPoolExecutor caseRunners;
+
+    @PostConstruct
+    public void init() {
+        if (!parallelCases) {
+            return;
+        }
+        // By default as many as there are judge workers, so judging never takes more than all the cores
+        int threads = caseWorkers > 0 ? caseWorkers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+
+        // No queue: a runner helps only if it is idle right now, otherwise the judge worker carries on alone
+        caseRunners = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(null, runnable, "judge-case-runner-" + counter.incrementAndGet(),
+                            RUNNER_STACK_SIZE);
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        caseRunners.allowCoreThreadTimeOut(true);
+    }
+
+    public SubmissionResult judge(TestSuite suite, String code, JudgeMode mode) {
+        long start = System.nanoTime();
+        Long questionId = suite.getQuestionId();
+
+        if (suite.getError() != null) {
+            return SubmissionResult.failed(questionId, Verdict.SYSTEM_ERROR,
+                    "Test cases for this question are malformed: " + suite.getError());
+        }
+        List<TestCase> testCases = suite.getTestCases();
+        if (testCases.isEmpty()) {
+            return SubmissionResult.failed(questionId, Verdict.SYSTEM_ERROR,
+                    "This question has no test cases to judge against");
+        }
+
+        int missing = suite.firstMissingExpected();
+        if (missing >= 0) {
+            return SubmissionResult.failed(questionId, Verdict.SYSTEM_ERROR,
+                    "Test case " + (missing + 1) + " has no expected output");
+        }
+
+        // Compiled here either way; only loading and running happen in the runner when isolated
+        boolean isolated = runnerPool != null && runnerPool.isEnabled();
+        int argumentCount = testCases.get(0).getTokens().size();
+        Program program;
+        Method method = null;
+        RunnerProcess runner = null;
+        try {
+            program = compile(code);
+            if (isolated) {
+                runner = runnerPool.acquire();
+                if (runner == null) {
+                    return SubmissionResult.failed(questionId, Verdict.SYSTEM_ERROR,
+                            "The judge is busy; please submit again");
+                }
+                String error;
+                try {
+                    error = loadInto(runner, program, argumentCount);
+                } catch (IOException e) {
+                    runnerPool.release(runner);
+                    return SubmissionResult.failed(questionId, Verdict.SYSTEM_ERROR,
+                            "The judge could not load the submission; please submit again");
+                }
+                if (error != null) {
+                    runnerPool.release(runner);
+                    throw new CompilationException(error);
+                }
+            } else {
+                method = program.load(argumentCount);
+            }
+        } catch (CompilationException e) {
+            return SubmissionResult.failed(questionId, Verdict.COMPILATION_ERROR, e.getMessage());
+        }
+
+        CaseRun run = new CaseRun(suite, program, mode == JudgeMode.FAIL_FAST);
+        ThreadPoolExecutor runners = caseRunners;
+        if (runners != null && worthSplitting(testCases)) {
+            int helpers = Math.min(runners.getMaximumPoolSize(), testCases.size() - 1);
+            for (int i = 0; i < helpers; i++) {
+                try {
+                    runners.execute(isolated ? () -> run.drainIsolated(null) : () -> run.drain(null));
+                } catch (RejectedExecutionException e) {
+                    break;
+                }
+            }
+        }
+        if (isolated) {
+            run.drainIsolated(runner);
+        } else {
+            run.drain(method);
+        }
+        return SubmissionResult.graded(questionId, run.await(), elapsedMs(start));
+    }
+
+    /**
+     * Runs a question's reference solution once over every test input, under
+     * the configured maximum limits, and returns the suite with the reference
+     * outputs and runtimes attached.
+     *
+     * @throws IllegalArgumentException when the reference does not compile, or fails or times out on an input
+     */
+    public TestSuite runReference(TestSuite suite, String solution) {
+        List<TestCase> testCases = suite.getTestCases();
+        if (testCases.isEmpty()) {
+            return suite;
+        }
+
+        Method method;
+        try {
+            method = compile(solution).load(testCases.get(0).getTokens().size());
+        } catch (CompilationException e) {
+            throw new IllegalArgumentException("Reference solution does not compile: " + e.getMessage());
+        }
+
+        List<String> outputs = new ArrayList<>(testCases.size());
+        double[] timesMs = new double[testCases.size()];
+        for (int i = 0; i < testCases.size(); i++) {
+            TestCaseResult result = runTestCase(suite, i, method, timeLimitMs, cpuTimeLimitMs, null);
+            if (result.getVerdict() == Verdict.TIME_LIMIT_EXCEEDED || result.getVerdict() == Verdict.RUNTIME_ERROR) {
+                throw new IllegalArgumentException("Reference solution fails on test case " + (i + 1) + ": "
+                        + result.getActualOutput());
+            }
+            outputs.add(result.getActualOutput());
+            timesMs[i] = result.getTimeMs();
+        }
+        return suite.withReference(outputs, timesMs, solution);
+    }
+
+    // Compiles and instruments the code; each thread that runs it loads its own copy with Program.load
+    private Program compile(String code) {
+        Map<String, byte[]> classes = GuardInstrumenter.instrument(compiler.compile(code));
+        return new Program(classes, EntryPoint.findClassName(classes, InMemoryJavaCompiler.primaryClassName(code)));
+    }
+
+    /**
+     * Loads the program into a runner.
+     *
+     * @return null when loaded, otherwise why the classes are not usable (reported like a compile error)
+     * @throws IOException when the runner failed; it must then be released and will be retired
+     */
+    private String loadInto(RunnerProcess runner, Program program, int argumentCount) throws IOException {
+        return runner.load(program.classes(), program.className(), argumentCount, timeLimitMs + killGraceMs);
+    }
+
+    // Suites whose reference solution finished in next to no time are cheaper to run than to split
+    private boolean worthSplitting(List<TestCase> testCases) {
+        if (testCases.size() < 2) {
+            return false;
+        }
+        double totalMs = 0;
+        for (TestCase testCase : testCases) {
+            if (testCase.getReferenceTimeMs() <= 0) {
+                return true;
+            }
+            totalMs += testCase.getReferenceTimeMs();
+        }
+        return totalMs >= parallelThresholdMs;
+    }
+
+    // Limit scaled from the reference runtime when one was measured, kept between the floor and the configured cap
+    private long limitFor(TestCase testCase, long capMs) {
+        if (testCase.getReferenceTimeMs() <= 0) {
+            return capMs;
+        }
+        long scaled = (long) Math.ceil(testCase.getReferenceTimeMs() * referenceTimeFactor);
+        return Math.min(capMs, Math.max(minTimeLimitMs, scaled));
+    }
+
+    private TestCaseResult runTestCase(TestSuite suite, int index, Method method, long wallMs, long cpuMs,
+            AtomicReferenceArray<ExecutionBudget> running) {
+        TestCase testCase = suite.getTestCases().get(index);
+        Object[] arguments;
+        try {
+            arguments = suite.argumentsFor(index, method);
+        } catch (RuntimeException e) {
+            return runtimeError(testCase, "Could not pass input to " + method.getName() + ": " + e.getMessage(), 0);
+        }
+
+        CaseExecution.Outcome outcome = CaseExecution.run(watchdog, method, arguments, wallMs, cpuMs,
+                running != null ? budget -> running.set(index, budget) : null);
+        return toResult(testCase, outcome);
+    }
+
+    // Verdict for a case from how its execution ended, in-process or in a runner
+    private static TestCaseResult toResult(TestCase testCase, CaseExecution.Outcome outcome) {
+        Verdict verdict = switch (outcome.status()) {
+            case RETURNED -> testCase.matches(outcome.output()) ? Verdict.ACCEPTED : Verdict.WRONG_ANSWER;
+            case TIME_LIMIT_EXCEEDED -> Verdict.TIME_LIMIT_EXCEEDED;
+            case RUNTIME_ERROR -> Verdict.RUNTIME_ERROR;
+        };
+        return new TestCaseResult(testCase.getInput(), testCase.getPublicExpected(), outcome.output(), verdict,
+                outcome.timeMs());
+    }
+
+    private static TestCaseResult skipped(TestCase testCase) {
+        return new TestCaseResult(testCase.getInput(), testCase.getPublicExpected(),
+                "Not run: an earlier test case failed", Verdict.SKIPPED, 0);
+    }
+
+    private static TestCaseResult runtimeError(TestCase testCase, String message, double timeMs) {
+        return new TestCaseResult(testCase.getInput(), testCase.getPublicExpected(), message, Verdict.RUNTIME_ERROR,
+                timeMs);
+    }
+
+    private static double elapsedMs(long startNanos) {
+        return Math.round((System.nanoTime() - startNanos) / 1_000.0) / 1_000.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (caseRunners != null) {
+            caseRunners.shutdownNow();
+        }
+        watchdog.shutdown();
+    }
+
+    private record Program(Map<String, byte[]> classes, String className) {
+
+        // Loads a fresh copy of the classes and returns the method to call for each test case
+        Method load(int argumentCount) {
+            return EntryPoint.load(classes, className, argumentCount, JudgeService.class.getClassLoader());
+        }
+    }
+
+    /**
+     * The test cases of one submission, handed out by index to whichever
+     * threads drain the run. In fail-fast mode a failure cancels the cases
+     * after it that are still running, and cases after the lowest failing
+     * index are reported as skipped once everything has stopped, so the
+     * report does not depend on which thread got there first.
+     */
+    private final class CaseRun {
+        private final TestSuite suite;
+        private final Program program;
+        private final boolean failFast;
+        private final TestCaseResult[] results;
+        private final AtomicReferenceArray<ExecutionBudget> running;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+        private final CountDownLatch finished;
+
+        CaseRun(TestSuite suite, Program program, boolean failFast) {
+            this.suite = suite;
+            this.program = program;
+            this.failFast = failFast;
+            int count = suite.getTestCases().size();
+            this.results = new TestCaseResult[count];
+            this.running = new AtomicReferenceArray<>(count);
+            this.finished = new CountDownLatch(count);
+        }
+
+        // Runs cases until none are left; a helper (method == null) loads its own copy of the classes first
+        void drain(Method method) {
+            List<TestCase> testCases = suite.getTestCases();
+            if (method == null) {
+                if (next.get() >= results.length) {
+                    return;
+                }
+                try {
+                    method = program.load(testCases.get(0).getTokens().size());
+                } catch (CompilationException e) {
+                    // Loaded fine on the judge worker, which will run the cases itself
+                    return;
+                }
+            }
+
+            int index;
+            while ((index = next.getAndIncrement()) < results.length) {
+                TestCase testCase = testCases.get(index);
+                record(index, index > firstFailure.get()
+                        ? skipped(testCase)
+                        : runTestCase(suite, index, method, limitFor(testCase, timeLimitMs),
+                                limitFor(testCase, cpuTimeLimitMs), running));
+            }
+        }
+
+        /**
+         * As drain, but each case runs in a runner process. A helper (runner ==
+         * null) takes an idle runner or gives up; the judge worker replaces a
+         * runner that died and marks the rest as system errors if it cannot.
+         * In fail-fast mode later cases already running in other runners are
+         * not interrupted; they finish and are reported as skipped.
+         */
+        void drainIsolated(RunnerProcess runner) {
+            boolean helper = runner == null;
+            List<TestCase> testCases = suite.getTestCases();
+            int argumentCount = testCases.get(0).getTokens().size();
+            try {
+                while (next.get() < results.length) {
+                    if (runner == null) {
+                        runner = helper ? runnerPool.tryAcquire() : runnerPool.acquire();
+                        if (runner != null && !loaded(runner, argumentCount)) {
+                            runnerPool.release(runner);
+                            runner = null;
+                        }
+                        if (runner == null) {
+                            if (!helper) {
+                                recordRemaining("No judge runner is available");
+                            }
+                            return;
+                        }
+                    }
+
+                    int index = next.getAndIncrement();
+                    if (index >= results.length) {
+                        return;
+                    }
+                    TestCase testCase = testCases.get(index);
+                    if (index > firstFailure.get()) {
+                        record(index, skipped(testCase));
+                        continue;
+                    }
+
+                    long wallMs = limitFor(testCase, timeLimitMs);
+                    try {
+                        record(index, toResult(testCase, runner.run(testCase.getInput(), testCase.getTokens(),
+                                wallMs, limitFor(testCase, cpuTimeLimitMs), wallMs + killGraceMs)));
+                    } catch (IOException e) {
+                        // The code took the runner down with it, or it stopped answering
+                        record(index, runner.isTimedOut()
+                                ? new TestCaseResult(testCase.getInput(), testCase.getPublicExpected(),
+                                        "Time limit exceeded", Verdict.TIME_LIMIT_EXCEEDED, wallMs)
+                                : runtimeError(testCase, TestCaseResult.JVM_TERMINATED + " (exit code "
+                                        + runner.exitCode() + ")", 0));
+                        runnerPool.release(runner);
+                        runner = null;
+                        if (helper) {
+                            return;
+                        }
+                    }
+                }
+            } finally {
+                if (runner != null) {
+                    runnerPool.release(runner);
+                }
+            }
+        }
+
+        List<TestCaseResult> await() {
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                // Judging was cancelled; stop whatever is still running and report what finished
+                Thread.currentThread().interrupt();
+                failed(-1);
+            }
+
+            List<TestCaseResult> report = new ArrayList<>(results.length);
+            int failure = firstFailure.get();
+            for (int i = 0; i < results.length; i++) {
+                TestCase testCase = suite.getTestCases().get(i);
+                report.add(i > failure || results[i] == null ? skipped(testCase) : results[i]);
+            }
+            return report;
+        }
+
+        // The judge worker loaded the same classes already, so a load error here means a broken runner
+        private boolean loaded(RunnerProcess runner, int argumentCount) {
+            try {
+                return loadInto(runner, program, argumentCount) == null;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        private void record(int index, TestCaseResult result) {
+            if (failFast && !result.isPassed() && result.getVerdict() != Verdict.SKIPPED) {
+                failed(index);
+            }
+            results[index] = result;
+            finished.countDown();
+        }
+
+        // Cases nobody will run, e.g. because no runner could be had; not held against the student
+        private void recordRemaining(String message) {
+            int index;
+            while ((index = next.getAndIncrement()) < results.length) {
+                TestCase testCase = suite.getTestCases().get(index);
+                results[index] = new TestCaseResult(testCase.getInput(), testCase.getPublicExpected(), message,
+                        Verdict.SYSTEM_ERROR, 0);
+                finished.countDown();
+            }
+        }
+
+        private void failed(int index) {
+            firstFailure.accumulateAndGet(index, Math::min);
+            for (int i = index + 1; i < results.length; i++) {
+                ExecutionBudget budget = running.get(i);
+                if (budget != null) {
+                    watchdog.cancel(budget, "Skipped after an earlier test case failed");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.assessment.service;
+
+import com.assessment.dto.LeaderboardEntry;
+import com.assessment.judge.Verdict;
+import com.assessment.leaderboard.RankTree;
+import com.assessment.leaderboard.Standing;
+import com.assessment.model.Submission;
+import com.assessment.model.User;
+import com.assessment.repository.SubmissionOutcome;
+import com.assessment.repository.SubmissionRepository;
+import com.assessment.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Live contest standings, kept as a projection of the submissions table
+ * instead of aggregating submissions on every refresh. Standings are kept in
+ * a {@link RankTree}, so looking up a participant's rank and reading the top
+ * N are logarithmic in the number of participants; a new verdict only
+ * recomputes the standing of the participant it belongs to.
+ *
+ * Every node builds the same standings: this node's submissions are applied
+ * as soon as they are written, and each node polls for rows written (or
+ * rejudged) anywhere since its last poll. The poll re-reads a trailing
+ * window, deduplicated by submission id, so rows stamped shortly before
+ * another node's poll but committed after it are not missed.
+ *
+ * Scoring is ICPC style: problems solved, then penalty minutes (time from the
+ * question's release to the first accepted submission, plus a fixed penalty
+ * for each rejected attempt before it). Compilation and system errors do not
+ * count as attempts, and neither does anything submitted before the
+ * question's release time or to a question that no longer exists. Release
+ * time changes and deletions are applied by recomputing every participant.
+ * Admin accounts may submit to try questions out, but are never ranked.
+ */
+@Service
+public class LeaderboardService {
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private QuestionCache questionCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.leaderboard.wrong-attempt-penalty-minutes:20}")
+    private long wrongAttemptPenaltyMinutes;
+
+    @Value("${app.leaderboard.sync-margin-ms:15000}")
+    private long syncMarginMs;
+
+    private final RankTree<Standing> ranking = new RankTree<>(Standing.ORDER);
+    private final Map<String, Participant> participants = new HashMap<>();
+    // Usernames of admin accounts, which are seeded before the first rebuild
+    private Set<String> admins = Set.of();
+
+    // Rows written from this time on have not been seen yet; null until the first rebuild
+    private volatile LocalDateTime syncedFrom;
+
+    // Apply submissions this node has just written
+    public void recordAll(List<Submission> submissions) {
+        synchronized (this) {
+            for (Submission submission : submissions) {
+                if (submission.getStudentId() != null) {
+                    apply(submission.getStudentId(), new Outcome(submission.getId(), submission.getQuestionId(),
+                            submission.getVerdict(), QuestionCache.toEpochMillis(submission.getSubmittedAt())));
+                }
+            }
+        }
+    }
+
+    // The first limit participants in rank order
+    public synchronized List<LeaderboardEntry> top(int limit) {
+        List<Standing> standings = ranking.first(limit);
+        List<LeaderboardEntry> entries = new ArrayList<>(standings.size());
+        for (int i = 0; i < standings.size(); i++) {
+            entries.add(LeaderboardEntry.of(i + 1, standings.get(i)));
+        }
+        return entries;
+    }
+
+    // A participant's current entry, or null when nothing they submitted counts
+    public synchronized LeaderboardEntry entryFor(String studentId) {
+        Participant participant = participants.get(studentId);
+        if (participant == null || participant.standing == null) {
+            return null;
+        }
+        return LeaderboardEntry.of(ranking.rank(participant.standing) + 1, participant.standing);
+    }
+
+    public synchronized int getParticipantCount() {
+        return ranking.size();
+    }
+
+    /**
+     * Recomputes the standings from stored submissions. Runs once the
+     * application is ready, after seeding has loaded the question release
+     * times that penalties are measured from.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime from = LocalDateTime.now();
+        List<SubmissionOutcome> outcomes = submissionRepository.findByStudentIdIsNotNullOrderBySubmittedAtAscIdAsc();
+        Set<String> adminNames = new HashSet<>();
+        for (User user : userRepository.findAll()) {
+            if ("ADMIN".equals(user.getRole())) {
+                adminNames.add(user.getUsername());
+            }
+        }
+
+        synchronized (this) {
+            admins = adminNames;
+            ranking.clear();
+            participants.clear();
+            for (SubmissionOutcome outcome : outcomes) {
+                participantFor(outcome.getStudentId()).merge(Outcome.of(outcome));
+            }
+            for (Participant participant : participants.values()) {
+                participant.standing = score(participant);
+                if (participant.standing != null) {
+                    ranking.insert(participant.standing);
+                }
+            }
+        }
+        syncedFrom = from;
+        System.out.println("✓ Leaderboard rebuilt from " + outcomes.size() + " submission(s) in "
+                + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    // Apply submissions written or rejudged on any node since the last poll
+    @Scheduled(fixedDelayString = "${app.cluster.poll-interval-ms:1000}")
+    public void sync() {
+        LocalDateTime from = syncedFrom;
+        if (from == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<SubmissionOutcome> outcomes = submissionRepository
+                .findByStudentIdIsNotNullAndWrittenAtGreaterThanEqual(from.minusNanos(syncMarginMs * 1_000_000));
+
+        synchronized (this) {
+            for (SubmissionOutcome outcome : outcomes) {
+                apply(outcome.getStudentId(), Outcome.of(outcome));
+            }
+        }
+        syncedFrom = now;
+    }
+
+    // Release times moved or questions were deleted; what counts may have changed for anyone
+    @EventListener(QuestionsReloadedEvent.class)
+    public synchronized void recompute() {
+        ranking.clear();
+        for (Participant participant : participants.values()) {
+            participant.standing = score(participant);
+            if (participant.standing != null) {
+                ranking.insert(participant.standing);
+            }
+        }
+    }
+
+    private void apply(String studentId, Outcome outcome) {
+        Participant participant = participantFor(studentId);
+        if (!participant.merge(outcome)) {
+            return;
+        }
+        if (participant.standing != null) {
+            ranking.remove(participant.standing);
+        }
+        participant.standing = score(participant);
+        if (participant.standing != null) {
+            ranking.insert(participant.standing);
+        }
+    }
+
+    private Participant participantFor(String studentId) {
+        return participants.computeIfAbsent(studentId, Participant::new);
+    }
+
+    // A participant's standing from their outcomes in submission order; null when none of them counts
+    private Standing score(Participant participant) {
+        if (admins.contains(participant.studentId)) {
+            return null;
+        }
+        Standing standing = Standing.empty(participant.studentId);
+        boolean counted = false;
+        Map<Long, Integer> rejected = new HashMap<>();
+        Set<Long> solved = new HashSet<>();
+
+        for (Outcome outcome : participant.outcomes) {
+            if (outcome.verdict() == Verdict.COMPILATION_ERROR || outcome.verdict() == Verdict.SYSTEM_ERROR) {
+                continue;
+            }
+            // Submissions are refused while a question is locked; any recorded before its release do not count
+            long releaseMillis = questionCache.releaseMillisOf(outcome.questionId());
+            if (releaseMillis < 0 || outcome.submittedMillis() < releaseMillis) {
+                continue;
+            }
+            counted = true;
+            if (solved.contains(outcome.questionId())) {
+                continue;
+            }
+            if (outcome.verdict() != Verdict.ACCEPTED) {
+                rejected.merge(outcome.questionId(), 1, Integer::sum);
+                continue;
+            }
+
+            solved.add(outcome.questionId());
+            long minutes = (outcome.submittedMillis() - releaseMillis) / 60_000;
+            standing = standing.withSolve(
+                    minutes + rejected.getOrDefault(outcome.questionId(), 0) * wrongAttemptPenaltyMinutes,
+                    outcome.submittedMillis());
+        }
+        return counted ? standing : null;
+    }
+
+    private static final class Participant {
+        final String studentId;
+        // In submission order, one per stored submission
+        final List<Outcome> outcomes = new ArrayList<>();
+        Standing standing;
+
+        Participant(String studentId) {
+            this.studentId = studentId;
+        }
+
+        // Adds or updates a submission's outcome; false when it was already known as is
+        boolean merge(Outcome outcome) {
+            int index = Collections.binarySearch(outcomes, outcome, Outcome.ORDER);
+            if (index < 0) {
+                outcomes.add(-index - 1, outcome);
+                return true;
+            }
+            if (outcomes.get(index).verdict() == outcome.verdict()) {
+                return false;
+            }
+            // Rejudged after a test-case change
+            outcomes.set(index, outcome);
+            return true;
+        }
+    }
+
+    private record Outcome(long id, Long questionId, Verdict verdict, long submittedMillis) {
+
+        static final Comparator<Outcome> ORDER = Comparator
+                .comparingLong(Outcome::submittedMillis)
+                .thenComparingLong(Outcome::id);
+
+        static Outcome of(SubmissionOutcome outcome) {
+            return new Outcome(outcome.getId(), outcome.getQuestionId(), outcome.getVerdict(),
+                    QuestionCache.toEpochMillis(outcome.getSubmittedAt()));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.assessment.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs BCrypt checks on a small dedicated pool. Each check is deliberately
+ * expensive, so when a whole cohort signs in at once the work queues here
+ * (and is rejected once the queue is full) instead of pinning every Tomcat
+ * thread and stalling the question and submission endpoints.
+ *
+ * Also tells callers when a stored hash was made with a different work
+ * factor than the one configured, so it can be rehashed after a successful
+ * login.
+ */
+@Service
+public class PasswordVerifier {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer verifyTimer;
+
+    private final ThreadPoolExecutor executor;
+    private final int strength;
+
+    private final AtomicLong verified = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public PasswordVerifier(
+            @Value("${app.auth.verify-workers:0}") int workers,
+            @Value("${app.auth.verify-queue-capacity:256}") int queueCapacity,
+            @Value("${app.auth.bcrypt-strength:10}") int strength) {
+        // By default leave half the cores for everything else
+        int threads = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+
+        this.strength = strength;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verifier-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PostConstruct
+    public void init() {
+        verifyTimer = Timer.builder("auth.password.verify")
+                .description("BCrypt checks on the verification pool, excluding time queued")
+                .tag("strength", Integer.toString(strength))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks a password against its stored hash on the verification pool.
+     *
+     * @throws RejectedExecutionException when the pool is busy and its queue is full
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                boolean matches = passwordEncoder.matches(rawPassword, encodedPassword);
+                recordLatency(System.nanoTime() - start);
+                return matches;
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    // Hash a password at the configured work factor; runs on the caller's thread
+    public String encode(String rawPassword) {
+        return passwordEncoder.encode(rawPassword);
+    }
+
+    // Whether a stored hash uses a different work factor than the configured one
+    public boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public Stats getStats() {
+        long count = verified.get();
+        return new Stats(count, rejected.get(),
+                count == 0 ? 0 : totalNanos.get() / count / 1_000_000.0,
+                maxNanos.get() / 1_000_000.0,
+                executor.getQueue().size(), executor.getActiveCount(), strength);
+    }
+
+    private void recordLatency(long nanos) {
+        verified.incrementAndGet();
+        verifyTimer.record(nanos, TimeUnit.NANOSECONDS);
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public record Stats(long verified, long rejected, double meanMs, double maxMs, int queueDepth,
+            int active, int strength) {
+    }
+}
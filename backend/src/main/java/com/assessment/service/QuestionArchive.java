@@ -0,0 +1,256 @@
+package com.assessment.service;
+
+import com.assessment.dto.QuestionRequest;
+import com.assessment.judge.TestSuite;
+import com.assessment.model.Question;
+import com.assessment.repository.QuestionRepository;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Bulk import and export of the question bank as NDJSON, one question per
+ * line in the same shape as a create request. Both directions stream:
+ * import reads records with Jackson's streaming parser and writes them a
+ * chunk at a time, export walks a database cursor. Memory therefore depends
+ * on the chunk size, not on the size of the bank.
+ */
+@Service
+public class QuestionArchive {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionChangeLog questionChangeLog;
+
+    @Autowired
+    private QuestionCache questionCache;
+
+    @Autowired
+    private TestCaseStore testCaseStore;
+
+    @Autowired
+    private VerdictCache verdictCache;
+
+    @Autowired
+    private SubmissionRejudger submissionRejudger;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.questions.import-batch-size:50}")
+    private int batchSize;
+
+    /**
+     * Upserts every record by title in one transaction, so a bad record
+     * anywhere leaves the bank untouched. Accepts NDJSON or a single JSON
+     * array. Fields a record leaves out keep their current value on update.
+     *
+     * Each record's test cases are prepared as for a create or update
+     * (reference solutions run, every case needs an expected output), so an
+     * unusable question fails the import and the others are ready to judge
+     * as soon as it commits.
+     *
+     * @throws IllegalArgumentException when the archive is malformed or a record is invalid
+     */
+    public ImportResult importFrom(InputStream in) {
+        long start = System.currentTimeMillis();
+        Tally tally = new Tally();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+                readRecords(parser, tally);
+            } catch (JsonProcessingException e) {
+                JsonLocation location = e.getLocation();
+                throw new IllegalArgumentException("Malformed archive"
+                        + (location != null ? " at line " + location.getLineNr() : "") + ": " + e.getOriginalMessage());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Only after commit: other nodes see the change log, this one patches its state directly
+        for (Map.Entry<Long, TestSuite> prepared : tally.prepared.entrySet()) {
+            testCaseStore.put(prepared.getKey(), prepared.getValue());
+            verdictCache.invalidate(prepared.getKey());
+        }
+        questionCache.reload();
+        // Verdicts reached against replaced test cases no longer hold
+        for (Long questionId : tally.changedSuites) {
+            submissionRejudger.schedule(questionId);
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        System.out.println("✓ Imported " + tally.created + " new and " + tally.updated
+                + " updated question(s) in " + elapsed + " ms");
+        return new ImportResult(tally.created, tally.updated, elapsed);
+    }
+
+    // Writes every question as one NDJSON line, detaching each row once written
+    public void exportTo(OutputStream out) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Question> questions = questionRepository.streamAllByOrderByIdAsc()) {
+                    questions.forEach(question -> {
+                        try {
+                            buffered.write(objectMapper.writeValueAsBytes(QuestionRequest.of(question)));
+                            buffered.write('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        entityManager.detach(question);
+                    });
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        buffered.flush();
+    }
+
+    private void readRecords(JsonParser parser, Tally tally) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            token = parser.nextToken();
+        }
+
+        List<QuestionRequest> chunk = new ArrayList<>(batchSize);
+        int firstInChunk = 1;
+        while (token != null && token != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Record " + (firstInChunk + chunk.size())
+                        + ": expected a JSON object");
+            }
+            chunk.add(objectMapper.readValue(parser, QuestionRequest.class));
+            if (chunk.size() == batchSize) {
+                writeChunk(chunk, firstInChunk, tally);
+                firstInChunk += chunk.size();
+                chunk.clear();
+            }
+            token = parser.nextToken();
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, firstInChunk, tally);
+        }
+    }
+
+    private void writeChunk(List<QuestionRequest> chunk, int firstRecord, Tally tally) {
+        Set<String> titles = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            String title = chunk.get(i).getTitle();
+            if (title == null || title.isBlank()) {
+                throw new IllegalArgumentException("Record " + (firstRecord + i) + ": title is required");
+            }
+            titles.add(title);
+        }
+
+        Map<String, Question> existing = new HashMap<>();
+        for (Question question : questionRepository.findByTitleIn(titles)) {
+            existing.putIfAbsent(question.getTitle(), question);
+        }
+
+        // A title repeated within the archive is applied in order, so the last record wins
+        Map<String, Question> pending = new LinkedHashMap<>();
+        Map<String, TestSuite> suites = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            QuestionRequest record = chunk.get(i);
+            Question question = pending.containsKey(record.getTitle())
+                    ? pending.get(record.getTitle())
+                    : existing.get(record.getTitle());
+            String label = "Record " + (firstRecord + i) + " (" + record.getTitle() + "): ";
+
+            if (question == null) {
+                if (record.getDescription() == null || record.getReleaseTime() == null) {
+                    throw new IllegalArgumentException(label + "description and releaseTime are required");
+                }
+                question = new Question();
+                question.setTitle(record.getTitle());
+                tally.created++;
+            } else {
+                tally.updated++;
+            }
+            apply(record, question);
+
+            try {
+                suites.put(record.getTitle(), testCaseStore.prepare(question));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(label + e.getMessage());
+            }
+            pending.put(record.getTitle(), question);
+        }
+
+        for (Question saved : questionChangeLog.saveAll(new ArrayList<>(pending.values()))) {
+            TestSuite suite = suites.get(saved.getTitle());
+            TestSuite previous = testCaseStore.getIfPrepared(saved.getId());
+            if (previous != null && previous.getVersion() != suite.getVersion()) {
+                tally.changedSuites.add(saved.getId());
+            }
+            tally.prepared.put(saved.getId(), suite);
+        }
+        // Send the chunk to the database and drop it from the persistence context
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static void apply(QuestionRequest record, Question question) {
+        if (record.getDescription() != null) {
+            question.setDescription(record.getDescription());
+        }
+        if (record.getSolution() != null) {
+            question.setSolution(record.getSolution());
+        }
+        if (record.getExplanation() != null) {
+            question.setExplanation(record.getExplanation());
+        }
+        if (record.getTestCases() != null) {
+            question.setTestCases(record.getTestCases());
+        }
+        if (record.getStarterCode() != null) {
+            question.setStarterCode(record.getStarterCode());
+        }
+        if (record.getReleaseTime() != null) {
+            question.setReleaseTime(record.getReleaseTime());
+        }
+    }
+
+    private static final class Tally {
+        int created;
+        int updated;
+        final Map<Long, TestSuite> prepared = new LinkedHashMap<>();
+        final Set<Long> changedSuites = new LinkedHashSet<>();
+    }
+
+    public record ImportResult(int created, int updated, long elapsedMs) {
+    }
+}
@@ -0,0 +1,386 @@
+package com.assessment.service;
+
+import com.assessment.diagnostics.RequestTrace;
+import com.assessment.dto.QuestionDTO;
+import com.assessment.dto.QuestionSummary;
+import com.assessment.model.Question;
+import com.assessment.repository.QuestionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * In-memory view of the question bank. The student and admin DTO lists are
+ * precomputed into an immutable snapshot that is swapped atomically when an
+ * admin writes and advanced in place when the next release time passes, so
+ * the read path never touches the database.
+ *
+ * Every new snapshot gets the next value of a content version, which backs the
+ * ETags served by QuestionController.
+ *
+ * Each question's locked and unlocked JSON is encoded once when it enters a
+ * snapshot; the student list body is stitched together from those bytes, so
+ * the hot read endpoints write stored bytes instead of running Jackson.
+ */
+@Service
+public class QuestionCache {
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    // Distinguishes this process so versions from a previous run never produce a matching ETag
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong versions = new AtomicLong();
+
+    // Questions served to students through the JSON getters, by lock state
+    private final LongAdder servedLocked = new LongAdder();
+    private final LongAdder servedUnlocked = new LongAdder();
+
+    // Reload every question from the database and publish a fresh snapshot
+    public void reload() {
+        synchronized (this) {
+            List<Question> questions = questionRepository.findAllByOrderByReleaseTimeAsc();
+            long start = System.nanoTime();
+            current.set(Snapshot.of(questions, this::encode, System.currentTimeMillis(),
+                    versions.incrementAndGet()));
+            RequestTrace.addMapping(System.nanoTime() - start);
+        }
+        eventPublisher.publishEvent(new QuestionsReloadedEvent(this));
+    }
+
+    /**
+     * Patch the snapshot with questions created, updated or deleted elsewhere
+     * (another node, per the change log) without reloading the whole bank.
+     */
+    public void apply(List<Question> upserted, Collection<Long> deleted) {
+        synchronized (this) {
+            Snapshot snapshot = snapshot();
+            long start = System.nanoTime();
+            current.set(snapshot.patch(upserted, deleted, this::encode, System.currentTimeMillis(),
+                    versions.incrementAndGet()));
+            RequestTrace.addMapping(System.nanoTime() - start);
+        }
+        eventPublisher.publishEvent(new QuestionsReloadedEvent(this));
+    }
+
+    /**
+     * Strong entity tag for the current content version. Callers should read it
+     * before the content: if a new version lands in between, the tag is merely
+     * stale and the next conditional request fetches the newer body.
+     */
+    public String getETag() {
+        return "\"" + instanceTag + "." + snapshot().version + "\"";
+    }
+
+    // Questions as students see them (locked ones hide solution/explanation)
+    public List<QuestionDTO> getStudentQuestions() {
+        return snapshot().studentView;
+    }
+
+    // getStudentQuestions() as encoded JSON
+    public EncodedJson getStudentQuestionsJson() {
+        Snapshot snapshot = snapshot();
+        servedUnlocked.add(snapshot.released);
+        servedLocked.add(snapshot.locked.length - snapshot.released);
+        return snapshot.studentJson();
+    }
+
+    // getStudentQuestion(id) as encoded JSON, or null when it does not exist
+    public EncodedJson getStudentQuestionJson(Long id) {
+        Snapshot snapshot = snapshot();
+        Integer index = snapshot.indexById.get(id);
+        if (index == null) {
+            return null;
+        }
+        if (index < snapshot.released) {
+            servedUnlocked.increment();
+            return snapshot.unlockedJson[index];
+        }
+        servedLocked.increment();
+        return snapshot.lockedJson[index];
+    }
+
+    /**
+     * Up to limit summaries in (release time, id) order, starting after the
+     * given position, or from the first question when afterId is null.
+     */
+    public List<QuestionSummary> getSummaries(LocalDateTime afterReleaseTime, Long afterId, int limit) {
+        Snapshot snapshot = snapshot();
+        int from = afterId == null ? 0 : snapshot.indexAfter(toEpochMillis(afterReleaseTime), afterId);
+        int to = (int) Math.min((long) from + limit, snapshot.unlocked.length);
+
+        List<QuestionSummary> summaries = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            QuestionDTO question = snapshot.unlocked[i];
+            summaries.add(new QuestionSummary(question.getId(), question.getTitle(), question.getReleaseTime(),
+                    i < snapshot.released));
+        }
+        return summaries;
+    }
+
+    // Every question fully unlocked, for the admin dashboard
+    public List<QuestionDTO> getAdminQuestions() {
+        return snapshot().adminView;
+    }
+
+    // Single question as a student sees it, or null when it does not exist
+    public QuestionDTO getStudentQuestion(Long id) {
+        return snapshot().studentQuestion(id);
+    }
+
+    public long getServedLockedCount() {
+        return servedLocked.sum();
+    }
+
+    public long getServedUnlockedCount() {
+        return servedUnlocked.sum();
+    }
+
+    // Epoch millis of the next release boundary, or Long.MAX_VALUE when nothing is pending
+    public long nextReleaseMillis() {
+        return snapshot().nextReleaseMillis;
+    }
+
+    // Epoch millis a question is released at, or -1 when it does not exist
+    public long releaseMillisOf(Long id) {
+        Snapshot snapshot = snapshot();
+        Integer index = snapshot.indexById.get(id);
+        return index != null ? snapshot.releaseMillis[index] : -1;
+    }
+
+    // Unlocked views of the questions whose release time falls in (fromMillis, toMillis]
+    public List<QuestionDTO> getReleasedBetween(long fromMillis, long toMillis) {
+        Snapshot snapshot = snapshot();
+        List<QuestionDTO> released = new ArrayList<>();
+        for (int i = 0; i < snapshot.released; i++) {
+            long releaseMillis = snapshot.releaseMillis[i];
+            if (releaseMillis > fromMillis && releaseMillis <= toMillis) {
+                released.add(snapshot.unlocked[i]);
+            }
+        }
+        return released;
+    }
+
+    Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            reload();
+            snapshot = current.get();
+        }
+
+        long now = System.currentTimeMillis();
+        while (now >= snapshot.nextReleaseMillis) {
+            Snapshot advanced = snapshot.advance(now, versions.incrementAndGet());
+            if (current.compareAndSet(snapshot, advanced)) {
+                return advanced;
+            }
+            snapshot = current.get();
+        }
+        return snapshot;
+    }
+
+    private EncodedJson encode(QuestionDTO question) {
+        try {
+            return new EncodedJson(objectMapper.writeValueAsBytes(question));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize question " + question.getId(), e);
+        }
+    }
+
+    static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static final class Snapshot {
+        // All arrays are ordered by release time, then id
+        final QuestionDTO[] locked;
+        final QuestionDTO[] unlocked;
+        final EncodedJson[] lockedJson;
+        final EncodedJson[] unlockedJson;
+        final long[] releaseMillis;
+        final Map<Long, Integer> indexById;
+
+        // Questions [0, released) are unlocked, the rest are still locked
+        final int released;
+        final long version;
+        final long nextReleaseMillis;
+        final List<QuestionDTO> studentView;
+        final List<QuestionDTO> adminView;
+
+        // Built on first request; most snapshots passed over by a release boundary are never served
+        private volatile EncodedJson studentJson;
+
+        private Snapshot(QuestionDTO[] locked, QuestionDTO[] unlocked, EncodedJson[] lockedJson,
+                EncodedJson[] unlockedJson, long[] releaseMillis, Map<Long, Integer> indexById, int released,
+                long version, List<QuestionDTO> adminView) {
+            this.locked = locked;
+            this.unlocked = unlocked;
+            this.lockedJson = lockedJson;
+            this.unlockedJson = unlockedJson;
+            this.releaseMillis = releaseMillis;
+            this.indexById = indexById;
+            this.released = released;
+            this.version = version;
+            this.nextReleaseMillis = released < releaseMillis.length ? releaseMillis[released] : Long.MAX_VALUE;
+            this.adminView = adminView;
+
+            QuestionDTO[] view = new QuestionDTO[locked.length];
+            System.arraycopy(unlocked, 0, view, 0, released);
+            System.arraycopy(locked, released, view, released, locked.length - released);
+            this.studentView = Collections.unmodifiableList(Arrays.asList(view));
+        }
+
+        static Snapshot of(List<Question> questions, Function<QuestionDTO, EncodedJson> encoder, long now,
+                long version) {
+            List<Entry> entries = new ArrayList<>(questions.size());
+            for (Question question : questions) {
+                entries.add(Entry.of(question, encoder));
+            }
+            return build(entries, now, version);
+        }
+
+        // This snapshot with the given questions replaced or added and the deleted ones dropped
+        Snapshot patch(List<Question> upserted, Collection<Long> deleted, Function<QuestionDTO, EncodedJson> encoder,
+                long now, long version) {
+            Set<Long> replaced = new HashSet<>(deleted);
+            for (Question question : upserted) {
+                replaced.add(question.getId());
+            }
+
+            List<Entry> entries = new ArrayList<>(unlocked.length + upserted.size());
+            for (int i = 0; i < unlocked.length; i++) {
+                if (!replaced.contains(unlocked[i].getId())) {
+                    entries.add(new Entry(locked[i], unlocked[i], lockedJson[i], unlockedJson[i], releaseMillis[i]));
+                }
+            }
+            for (Question question : upserted) {
+                entries.add(Entry.of(question, encoder));
+            }
+            return build(entries, now, version);
+        }
+
+        private static Snapshot build(List<Entry> entries, long now, long version) {
+            entries.sort(Comparator.comparingLong(Entry::releaseMillis)
+                    .thenComparing(entry -> entry.unlocked().getId()));
+
+            int size = entries.size();
+            QuestionDTO[] locked = new QuestionDTO[size];
+            QuestionDTO[] unlocked = new QuestionDTO[size];
+            EncodedJson[] lockedJson = new EncodedJson[size];
+            EncodedJson[] unlockedJson = new EncodedJson[size];
+            long[] releaseMillis = new long[size];
+            Map<Long, Integer> indexById = new HashMap<>();
+
+            for (int i = 0; i < size; i++) {
+                Entry entry = entries.get(i);
+                locked[i] = entry.locked();
+                unlocked[i] = entry.unlocked();
+                lockedJson[i] = entry.lockedJson();
+                unlockedJson[i] = entry.unlockedJson();
+                releaseMillis[i] = entry.releaseMillis();
+                indexById.put(entry.unlocked().getId(), i);
+            }
+
+            List<QuestionDTO> adminView = Collections.unmodifiableList(Arrays.asList(unlocked.clone()));
+            return new Snapshot(locked, unlocked, lockedJson, unlockedJson, releaseMillis, indexById,
+                    releasedAt(releaseMillis, now), version, adminView);
+        }
+
+        // Same questions, with everything released by now moved to the unlocked side
+        Snapshot advance(long now, long version) {
+            return new Snapshot(locked, unlocked, lockedJson, unlockedJson, releaseMillis, indexById,
+                    releasedAt(releaseMillis, now), version, adminView);
+        }
+
+        // The student view as one JSON array, joined from the per-question bytes
+        EncodedJson studentJson() {
+            EncodedJson json = studentJson;
+            if (json == null) {
+                long start = System.nanoTime();
+                EncodedJson[] view = new EncodedJson[lockedJson.length];
+                System.arraycopy(unlockedJson, 0, view, 0, released);
+                System.arraycopy(lockedJson, released, view, released, lockedJson.length - released);
+                json = EncodedJson.arrayOf(Arrays.asList(view));
+                studentJson = json;
+                RequestTrace.addMapping(System.nanoTime() - start);
+            }
+            return json;
+        }
+
+        // Index of the first question after (releaseMillis, id) in snapshot order
+        int indexAfter(long releaseMillis, Long id) {
+            int low = 0;
+            int high = this.releaseMillis.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                long midMillis = this.releaseMillis[mid];
+                if (midMillis < releaseMillis || (midMillis == releaseMillis && unlocked[mid].getId() <= id)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        QuestionDTO studentQuestion(Long id) {
+            Integer index = indexById.get(id);
+            if (index == null) {
+                return null;
+            }
+            return index < released ? unlocked[index] : locked[index];
+        }
+
+        private record Entry(QuestionDTO locked, QuestionDTO unlocked, EncodedJson lockedJson,
+                EncodedJson unlockedJson, long releaseMillis) {
+            static Entry of(Question question, Function<QuestionDTO, EncodedJson> encoder) {
+                QuestionDTO locked = QuestionDTO.locked(question);
+                QuestionDTO unlocked = QuestionDTO.unlocked(question);
+                return new Entry(locked, unlocked, encoder.apply(locked), encoder.apply(unlocked),
+                        toEpochMillis(question.getReleaseTime()));
+            }
+        }
+
+        // Number of leading questions whose release time is at or before now
+        private static int releasedAt(long[] releaseMillis, long now) {
+            int low = 0;
+            int high = releaseMillis.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (releaseMillis[mid] <= now) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
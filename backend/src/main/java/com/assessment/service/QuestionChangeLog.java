@@ -0,0 +1,181 @@
+package com.assessment.service;
+
+import com.assessment.model.Question;
+import com.assessment.model.QuestionChange;
+import com.assessment.repository.QuestionChangeRepository;
+import com.assessment.repository.QuestionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps every node's in-memory question state coherent without a message
+ * broker. Admin writes go through here so the question row and a
+ * question_changes row commit in one transaction. Each node polls for the
+ * highest change id (a single index lookup) and, when it moved, fetches
+ * the new rows and patches its question cache, test-case store and verdict
+ * cache for the questions they name.
+ *
+ * Ids are handed out when a row is inserted, not when it commits, so a
+ * change can become visible after one with a higher id. Ids skipped over
+ * are remembered and looked up again on each poll until they appear or, as
+ * ids from rolled-back transactions never do, until the gap timeout passes.
+ */
+@Service
+public class QuestionChangeLog {
+
+    // A jump wider than this is a reseeded or cached sequence rather than transactions in flight
+    private static final int MAX_TRACKED_GAP = 1000;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionChangeRepository questionChangeRepository;
+
+    @Autowired
+    private QuestionCache questionCache;
+
+    @Autowired
+    private TestCaseStore testCaseStore;
+
+    @Autowired
+    private VerdictCache verdictCache;
+
+    @Value("${app.cluster.change-retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${app.cluster.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    private final String nodeId;
+    private volatile long lastSeenId;
+    // Ids below lastSeenId not seen yet, with when they were first missed; only touched by the poller
+    private final Map<Long, Long> gaps = new HashMap<>();
+    private volatile long lastPruneMillis;
+
+    public QuestionChangeLog(@Value("${app.cluster.node-id:}") String nodeId) {
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    // Changes made before this node started are already in the state it loads at startup
+    @PostConstruct
+    public void init() {
+        lastSeenId = questionChangeRepository.findLatestId();
+    }
+
+    @Transactional
+    public Question save(Question question) {
+        QuestionChange.Type type = question.getId() == null ? QuestionChange.Type.CREATED : QuestionChange.Type.UPDATED;
+        Question saved = questionRepository.save(question);
+        questionChangeRepository.save(new QuestionChange(saved.getId(), type, nodeId));
+        return saved;
+    }
+
+    // Several questions at once; joins the caller's transaction, so a bulk import commits as a whole
+    @Transactional
+    public List<Question> saveAll(List<Question> questions) {
+        List<QuestionChange.Type> types = new ArrayList<>(questions.size());
+        for (Question question : questions) {
+            types.add(question.getId() == null ? QuestionChange.Type.CREATED : QuestionChange.Type.UPDATED);
+        }
+        List<Question> saved = questionRepository.saveAll(questions);
+
+        List<QuestionChange> changes = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            changes.add(new QuestionChange(saved.get(i).getId(), types.get(i), nodeId));
+        }
+        questionChangeRepository.saveAll(changes);
+        return saved;
+    }
+
+    @Transactional
+    public void delete(Long questionId) {
+        questionRepository.deleteById(questionId);
+        questionChangeRepository.save(new QuestionChange(questionId, QuestionChange.Type.DELETED, nodeId));
+    }
+
+    // Apply changes committed by other nodes since the last poll
+    @Scheduled(fixedDelayString = "${app.cluster.poll-interval-ms:1000}")
+    public void poll() {
+        List<QuestionChange> changes = new ArrayList<>();
+        if (!gaps.isEmpty()) {
+            changes.addAll(questionChangeRepository.findAllById(gaps.keySet()));
+            for (QuestionChange change : changes) {
+                gaps.remove(change.getId());
+            }
+            long now = System.currentTimeMillis();
+            gaps.values().removeIf(missedAt -> now - missedAt > gapTimeoutMs);
+        }
+
+        long latest = questionChangeRepository.findLatestId();
+        if (latest > lastSeenId) {
+            List<QuestionChange> newer = questionChangeRepository.findByIdGreaterThanOrderByIdAsc(lastSeenId);
+            long now = System.currentTimeMillis();
+            for (QuestionChange change : newer) {
+                // Lower ids still uncommitted (or rolled back) are checked again on later polls
+                if (change.getId() - lastSeenId <= MAX_TRACKED_GAP) {
+                    for (long id = lastSeenId + 1; id < change.getId(); id++) {
+                        gaps.put(id, now);
+                    }
+                }
+                lastSeenId = change.getId();
+            }
+            changes.addAll(newer);
+        }
+        apply(changes);
+        prune();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void apply(List<QuestionChange> changes) {
+        Set<Long> touched = new LinkedHashSet<>();
+        for (QuestionChange change : changes) {
+            if (!nodeId.equals(change.getNodeId())) {
+                touched.add(change.getQuestionId());
+            }
+        }
+        if (touched.isEmpty()) {
+            return;
+        }
+
+        // Current rows decide the outcome, so several changes to one question collapse into one
+        List<Question> upserted = questionRepository.findAllById(touched);
+        List<Long> deleted = new ArrayList<>(touched);
+        for (Question question : upserted) {
+            deleted.remove(question.getId());
+            testCaseStore.refresh(question);
+            verdictCache.invalidate(question.getId());
+        }
+        for (Long questionId : deleted) {
+            testCaseStore.evict(questionId);
+            verdictCache.invalidate(questionId);
+        }
+        questionCache.apply(upserted, deleted);
+        System.out.println("✓ Applied " + touched.size() + " question change(s) from other nodes");
+    }
+
+    private void prune() {
+        long now = System.currentTimeMillis();
+        if (now - lastPruneMillis < 10 * 60_000) {
+            return;
+        }
+        lastPruneMillis = now;
+        questionChangeRepository.deleteOlderThan(LocalDateTime.now().minusHours(retentionHours));
+    }
+}
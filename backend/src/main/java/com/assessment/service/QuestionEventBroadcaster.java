@@ -0,0 +1,83 @@
+package com.assessment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the Server-Sent Events connections opened on /api/questions/events
+ * and fans question events out to all of them. Payloads are serialized once
+ * per event, not once per client.
+ */
+@Service
+public class QuestionEventBroadcaster {
+
+    // Tells EventSource how long to wait before reconnecting after a drop
+    private static final long RECONNECT_DELAY_MS = 3000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    public SseEmitter subscribe() {
+        // No server-side timeout; dead connections are dropped when a send fails
+        SseEmitter emitter = new SseEmitter(0L);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(error -> emitters.remove(emitter));
+        emitters.add(emitter);
+
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_DELAY_MS).comment("connected"));
+        } catch (IOException e) {
+            emitters.remove(emitter);
+        }
+        return emitter;
+    }
+
+    public void publish(String eventName, Object payload) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventName + " event", e);
+        }
+
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    // Comment-only frame so proxies do not close idle connections
+    public void heartbeat() {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    public void closeAll() {
+        for (SseEmitter emitter : emitters) {
+            emitter.complete();
+        }
+        emitters.clear();
+    }
+}
@@ -0,0 +1,14 @@
+package com.assessment.service;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by {@link QuestionCache} after a new snapshot has been loaded from
+ * the database, i.e. after any admin create/update/delete.
+ */
+public class QuestionsReloadedEvent extends ApplicationEvent {
+
+    public QuestionsReloadedEvent(Object source) {
+        super(source);
+    }
+}
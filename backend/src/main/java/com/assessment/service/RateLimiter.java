@@ -0,0 +1,136 @@
+package com.assessment.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route request limits, so one client cannot spend capacity the rest
+ * of the cohort needs (BCrypt on login, judge time on submissions).
+ *
+ * Rules come from app.rate-limit.rules, separated by ';', each written
+ * "METHOD path-pattern key permits/seconds burst", for example
+ * "POST /api/auth/login ip 60/60 30". METHOD may be '*'. The key is "ip"
+ * for one bucket per client address, or "client" for one per signed-in user
+ * (so a classroom behind one NAT address is not limited as a whole; students
+ * sign in with their Student ID), falling back to the address for anonymous
+ * requests. Every rule that matches a request applies, so a route can be
+ * limited both per user and per address (self-chosen Student IDs would
+ * otherwise give one machine a bucket per ID); a request refused by a later
+ * rule keeps the permits it took from earlier ones. Requests no rule
+ * matches are not limited.
+ */
+@Service
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final List<Rule> rules = new ArrayList<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimiter(
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.rules:}") String rules,
+            @Value("${app.rate-limit.max-clients:100000}") int maxClients) {
+        this.enabled = enabled;
+        for (String rule : rules.split(";")) {
+            if (!rule.isBlank()) {
+                this.rules.add(Rule.parse(rule.trim(), maxClients));
+            }
+        }
+    }
+
+    /**
+     * Takes a permit for the request if a rule covers it.
+     *
+     * @param username the signed-in user, or null for an anonymous request
+     * @return 0 when the request may proceed, otherwise the seconds until it may be retried
+     */
+    public long acquire(String method, String path, String address, String username) {
+        if (!enabled) {
+            return 0;
+        }
+        for (Rule rule : rules) {
+            if (rule.matches(method, path, pathMatcher)) {
+                long waitNanos = rule.byClient && username != null
+                        ? rule.users.tryAcquire(username, System.nanoTime())
+                        : rule.addresses.tryAcquire(address, System.nanoTime());
+                if (waitNanos > 0) {
+                    rejected.increment();
+                    return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+                }
+            }
+        }
+        return 0;
+    }
+
+    // Buckets that have refilled carry no state; drop them so memory follows active clients
+    @Scheduled(fixedDelayString = "${app.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Rule rule : rules) {
+            rule.addresses.evictIdle(now);
+            rule.users.evictIdle(now);
+        }
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public int getTrackedClientCount() {
+        int count = 0;
+        for (Rule rule : rules) {
+            count += rule.addresses.size() + rule.users.size();
+        }
+        return count;
+    }
+
+    private static final class Rule {
+        final String method;
+        final String pattern;
+        final boolean byClient;
+        final TokenBucketTable addresses;
+        final TokenBucketTable users;
+
+        Rule(String method, String pattern, boolean byClient, long intervalNanos, int burst, int maxClients) {
+            this.method = method;
+            this.pattern = pattern;
+            this.byClient = byClient;
+            this.addresses = new TokenBucketTable(intervalNanos, burst, maxClients);
+            this.users = new TokenBucketTable(intervalNanos, burst, maxClients);
+        }
+
+        static Rule parse(String rule, int maxClients) {
+            String[] parts = rule.split("\\s+");
+            try {
+                if (parts.length != 5) {
+                    throw new IllegalArgumentException();
+                }
+                String[] rate = parts[3].split("/");
+                int permits = Integer.parseInt(rate[0]);
+                int seconds = Integer.parseInt(rate[1]);
+                int burst = Integer.parseInt(parts[4]);
+                if (!"ip".equals(parts[2]) && !"client".equals(parts[2])
+                        || permits <= 0 || seconds <= 0 || burst <= 0) {
+                    throw new IllegalArgumentException();
+                }
+                return new Rule(parts[0].toUpperCase(), parts[1], "client".equals(parts[2]),
+                        TimeUnit.SECONDS.toNanos(seconds) / permits, burst, maxClients);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid rate limit rule '" + rule
+                        + "', expected \"METHOD path-pattern ip|client permits/seconds burst\"");
+            }
+        }
+
+        boolean matches(String requestMethod, String path, AntPathMatcher pathMatcher) {
+            return ("*".equals(method) || method.equals(requestMethod)) && pathMatcher.match(pattern, path);
+        }
+    }
+}
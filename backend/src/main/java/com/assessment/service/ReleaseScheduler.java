@@ -0,0 +1,129 @@
+package com.assessment.service;
+
+import com.assessment.dto.QuestionDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires at each upcoming question release time and pushes the newly unlocked
+ * questions to every connected client, so students do not have to poll
+ * /api/questions around the release minute.
+ */
+@Service
+public class ReleaseScheduler {
+
+    private static final long HEARTBEAT_INTERVAL_SECONDS = 25;
+
+    @Autowired
+    private QuestionCache questionCache;
+
+    @Autowired
+    private QuestionEventBroadcaster broadcaster;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "release-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScheduledFuture<?> pending;
+    private long scheduledFor = Long.MAX_VALUE;
+
+    // Everything released at or before this instant has already been announced
+    private long announcedUpTo = System.currentTimeMillis();
+
+    public ReleaseScheduler() {
+        timer.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_INTERVAL_SECONDS, HEARTBEAT_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+    }
+
+    @EventListener
+    public void onQuestionsReloaded(QuestionsReloadedEvent event) {
+        synchronized (this) {
+            // Questions created or moved into the past are part of the new catalog, not a release
+            announcedUpTo = System.currentTimeMillis();
+        }
+        broadcaster.publish("update", Map.of("reason", "catalog-changed"));
+        schedule();
+    }
+
+    // (Re)arm the timer for the earliest pending release time
+    public synchronized void schedule() {
+        long next = questionCache.nextReleaseMillis();
+        if (pending != null && next == scheduledFor) {
+            return;
+        }
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+
+        scheduledFor = next;
+        if (next == Long.MAX_VALUE) {
+            return;
+        }
+        long delay = Math.max(0, next - System.currentTimeMillis());
+        pending = timer.schedule(this::fireSafely, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void fireSafely() {
+        try {
+            fire();
+        } catch (RuntimeException e) {
+            System.err.println("Release scheduler failed: " + e.getMessage());
+            synchronized (this) {
+                // Retry shortly instead of spinning on the same boundary
+                scheduledFor = Long.MAX_VALUE;
+                pending = timer.schedule(this::fireSafely, 1, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private void fire() {
+        List<QuestionDTO> released;
+        synchronized (this) {
+            pending = null;
+            long now = System.currentTimeMillis();
+            if (now < scheduledFor) {
+                // Woke up early; go back to sleep for the remainder
+                scheduledFor = Long.MAX_VALUE;
+                schedule();
+                return;
+            }
+
+            // Advances the snapshot as a side effect, so nextReleaseMillis moves on below
+            released = questionCache.getReleasedBetween(announcedUpTo, now);
+            announcedUpTo = now;
+        }
+
+        if (!released.isEmpty()) {
+            broadcaster.publish("unlock", released);
+            System.out.println("✓ Released " + released.size() + " question(s) to "
+                    + broadcaster.getSubscriberCount() + " connected client(s)");
+        }
+        schedule();
+    }
+
+    private void heartbeat() {
+        try {
+            broadcaster.heartbeat();
+        } catch (RuntimeException e) {
+            System.err.println("Release heartbeat failed: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        broadcaster.closeAll();
+    }
+}
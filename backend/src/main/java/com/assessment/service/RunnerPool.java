@@ -0,0 +1,381 @@
+package com.assessment.service;
+
+import com.assessment.judge.GuardInstrumenter;
+import com.assessment.judge.InMemoryJavaCompiler;
+import com.assessment.judge.RunnerMain;
+import com.assessment.judge.RunnerProcess;
+import com.assessment.judge.TestCase;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Pre-started runner JVMs that submission code runs in when
+ * app.judge.isolation=process, so a crash, System.exit, runaway allocation
+ * or anything else the code does stays out of the application's JVM.
+ * Runners start in an empty working directory with nothing of the
+ * application's environment but PATH, and otherwise as the application's user with its file system and network;
+ * command-prefix (setpriv, prlimit, unshare and the like) is how a deployment
+ * confines them further at the OS level.
+ * Starting a JVM per submission would cost hundreds of milliseconds; a
+ * leased runner is already up and has run a warm-up program enough times
+ * for the judging path to be compiled, so a submission pays one load and a
+ * pipe round trip per test case.
+ *
+ * Runners are retired after max-jobs submissions, or as soon as one fails,
+ * times out or reports a damaged JVM or threads left running by a
+ * submission, so nothing a submission starts outlives its job. The pool keeps min-idle runners ready,
+ * starts one more for each thread waiting for a runner and when a case
+ * runner finds none idle (up to max), and stops runners that have been idle
+ * for idle-timeout.
+ */
+@Service
+public class RunnerPool {
+
+    private static final String WARMUP_SOURCE = "public class Warmup {\n"
+            + "    public int solve(int n) {\n"
+            + "        int sum = 0;\n"
+            + "        for (int i = 0; i < n; i++) { sum += i % 7; }\n"
+            + "        return sum;\n"
+            + "    }\n"
+            + "}";
+
+    @Value("${app.judge.isolation:process}")
+    private String isolation;
+
+    @Value("${app.judge.runner.min-idle:1}")
+    private int minIdle;
+
+    @Value("${app.judge.runner.max:0}")
+    private int maxRunners;
+
+    @Value("${app.judge.runner.max-jobs:200}")
+    private int maxJobs;
+
+    @Value("${app.judge.runner.idle-timeout-ms:60000}")
+    private long idleTimeoutMs;
+
+    @Value("${app.judge.runner.heap-mb:256}")
+    private int heapMb;
+
+    @Value("${app.judge.runner.warmup-runs:300}")
+    private int warmupRuns;
+
+    @Value("${app.judge.runner.start-timeout-ms:10000}")
+    private long startTimeoutMs;
+
+    @Value("${app.judge.runner.acquire-timeout-ms:10000}")
+    private long acquireTimeoutMs;
+
+    @Value("${app.judge.runner.command-prefix:}")
+    private String commandPrefix;
+
+    // Most recently used first, so extra runners collect at the tail and idle out
+    private final LinkedBlockingDeque<RunnerProcess> idle = new LinkedBlockingDeque<>();
+    // Runners alive or starting
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger starting = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder retired = new LongAdder();
+
+    private volatile boolean enabled;
+    private volatile boolean failing;
+    private File classPath;
+    private File workDirectory;
+    private List<String> command;
+    private Map<String, byte[]> warmupClasses;
+    private TestCase warmupCase;
+    private ScheduledExecutorService timer;
+    private ExecutorService launcher;
+
+    @PostConstruct
+    public void init() {
+        if (!"process".equalsIgnoreCase(isolation)) {
+            return;
+        }
+        // One per core by default: enough for every judge worker and case runner at once
+        maxRunners = maxRunners > 0 ? maxRunners : Runtime.getRuntime().availableProcessors();
+        List<String> prefix = commandPrefix.isBlank() ? List.of() : List.of(commandPrefix.trim().split("\\s+"));
+        try {
+            classPath = Files.createTempDirectory("judge-runner").toFile();
+            RunnerProcess.prepareClassPath(classPath.toPath());
+            workDirectory = Files.createTempDirectory("judge-work").toFile();
+            if (!prefix.isEmpty()) {
+                // The prefix may start runners as another user, who needs to read the classes and write scratch files
+                Files.setPosixFilePermissions(classPath.toPath(), PosixFilePermissions.fromString("rwxr-xr-x"));
+                Files.setPosixFilePermissions(workDirectory.toPath(), PosixFilePermissions.fromString("rwxrwxrwx"));
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            throw new IllegalStateException("Could not prepare the judge runner directories", e);
+        }
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        command = new ArrayList<>(prefix);
+        command.addAll(List.of(java,
+                "-Xmx" + heapMb + "m",
+                "-XX:MaxMetaspaceSize=128m",
+                "-XX:+UseSerialGC",
+                "-XX:ActiveProcessorCount=1",
+                "-Xshare:auto",
+                // No attach listener thread for tools to wake, and no performance data file in the temp directory
+                "-XX:+DisableAttachMechanism",
+                "-XX:-UsePerfData",
+                "-Djava.io.tmpdir=" + workDirectory.getAbsolutePath(),
+                "-cp", classPath.getAbsolutePath(),
+                RunnerMain.class.getName()));
+
+        warmupClasses = GuardInstrumenter.instrument(new InMemoryJavaCompiler().compile(WARMUP_SOURCE));
+        warmupCase = new TestCase("1000", "");
+
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "judge-runner-timer"));
+        AtomicInteger counter = new AtomicInteger();
+        launcher = Executors.newCachedThreadPool(
+                runnable -> daemon(runnable, "judge-runner-launcher-" + counter.incrementAndGet()));
+
+        enabled = true;
+        replenish();
+        System.out.println("✓ Judge runs submissions in isolated runner processes (up to " + maxRunners + ")");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Leases a runner, waiting up to acquire-timeout for one to become idle
+     * or start. The caller must hand it back with {@link #release}.
+     *
+     * @return the runner, or null when none could be had in time
+     */
+    public RunnerProcess acquire() {
+        RunnerProcess runner = pollUsable();
+        if (runner != null) {
+            replenish();
+            return runner;
+        }
+
+        waiting.incrementAndGet();
+        try {
+            replenish();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMs);
+            while (true) {
+                long remaining = deadline - System.nanoTime();
+                runner = remaining > 0 ? idle.pollFirst(remaining, TimeUnit.NANOSECONDS) : null;
+                if (runner == null || runner.isUsable()) {
+                    return runner;
+                }
+                retire(runner);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            waiting.decrementAndGet();
+            replenish();
+        }
+    }
+
+    /**
+     * An idle runner if there is one right now, otherwise null; never waits.
+     * A miss starts one more runner (up to max) so that the next submission
+     * split across case runners finds it; extras idle out again.
+     */
+    public RunnerProcess tryAcquire() {
+        RunnerProcess runner = pollUsable();
+        if (runner == null && starting.get() == 0 && reserve()) {
+            launchAsync();
+        }
+        replenish();
+        return runner;
+    }
+
+    // Returns a leased runner; one that failed or has served max-jobs submissions is stopped instead
+    public void release(RunnerProcess runner) {
+        // The warm-up counts as the first job
+        if (!enabled || !runner.isUsable() || runner.getJobs() > maxJobs) {
+            retire(runner);
+            return;
+        }
+        runner.markIdle();
+        idle.offerFirst(runner);
+    }
+
+    // Stop runners beyond min-idle that have not been leased for idle-timeout
+    @Scheduled(fixedDelayString = "${app.judge.runner.shrink-interval-ms:10000}")
+    public void shrink() {
+        if (!enabled) {
+            return;
+        }
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        long now = System.nanoTime();
+        while (idle.size() > minIdle) {
+            RunnerProcess oldest = idle.peekLast();
+            if (oldest == null || oldest.isUsable() && now - oldest.getIdleSince() < idleNanos) {
+                break;
+            }
+            if (idle.removeLastOccurrence(oldest)) {
+                retire(oldest);
+            }
+        }
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getSize() {
+        return size.get();
+    }
+
+    public long getStartedCount() {
+        return started.sum();
+    }
+
+    public long getRetiredCount() {
+        return retired.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        enabled = false;
+        launcher.shutdownNow();
+        timer.shutdownNow();
+        RunnerProcess runner;
+        while ((runner = idle.pollFirst()) != null) {
+            runner.destroy();
+        }
+        deleteTree(classPath);
+        deleteTree(workDirectory);
+    }
+
+    private RunnerProcess pollUsable() {
+        RunnerProcess runner;
+        while ((runner = idle.pollFirst()) != null) {
+            if (runner.isUsable()) {
+                return runner;
+            }
+            retire(runner);
+        }
+        return null;
+    }
+
+    private void retire(RunnerProcess runner) {
+        runner.destroy();
+        size.decrementAndGet();
+        retired.increment();
+        replenish();
+    }
+
+    // Start runners until the idle and starting ones cover min-idle plus every waiting thread
+    private void replenish() {
+        while (enabled && idle.size() + starting.get() < minIdle + waiting.get() && reserve()) {
+            if (!launchAsync()) {
+                return;
+            }
+        }
+    }
+
+    // Starts a runner in a slot already reserved
+    private boolean launchAsync() {
+        starting.incrementAndGet();
+        try {
+            launcher.execute(this::launch);
+            return true;
+        } catch (RuntimeException e) {
+            // Shutting down
+            starting.decrementAndGet();
+            size.decrementAndGet();
+            return false;
+        }
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= maxRunners) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void launch() {
+        RunnerProcess runner = null;
+        try {
+            runner = RunnerProcess.start(command, workDirectory, timer, startTimeoutMs);
+            warmUp(runner);
+            started.increment();
+            failing = false;
+            runner.markIdle();
+            idle.offerFirst(runner);
+            if (!enabled && idle.remove(runner)) {
+                // Shut down while this one was starting
+                runner.destroy();
+            }
+        } catch (IOException e) {
+            if (runner != null) {
+                runner.destroy();
+            }
+            size.decrementAndGet();
+            // Once per run of failures; waiting submissions time out with a system error
+            if (!failing) {
+                failing = true;
+                System.out.println("⚠ Could not start a judge runner: " + e.getMessage());
+            }
+        } finally {
+            starting.decrementAndGet();
+        }
+    }
+
+    // Runs the judging path enough times for the runner's JIT to compile it
+    private void warmUp(RunnerProcess runner) throws IOException {
+        String error = runner.load(warmupClasses, "Warmup", 1, startTimeoutMs);
+        if (error != null) {
+            throw new IOException("Runner could not load the warm-up program: " + error);
+        }
+        for (int i = 0; i < warmupRuns; i++) {
+            runner.run(warmupCase.getInput(), warmupCase.getTokens(), 1000, 1000, startTimeoutMs);
+        }
+    }
+
+    private static void deleteTree(File directory) {
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            // Only a temporary directory
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
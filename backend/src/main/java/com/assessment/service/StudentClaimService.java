@@ -0,0 +1,74 @@
+package com.assessment.service;
+
+import com.assessment.model.StudentClaim;
+import com.assessment.repository.StudentClaimRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Binds each Student ID to whoever signed in with it first. Students have no
+ * password, so the first sign-in under an ID is handed a random claim token
+ * (kept by the browser), and later sign-ins under that ID must present it.
+ * Without this anyone could sign in as a rival and run up their penalty.
+ *
+ * A student who loses the token (another browser, cleared storage) is let
+ * back in once an admin releases the ID; the next sign-in claims it afresh.
+ */
+@Service
+public class StudentClaimService {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    @Autowired
+    private StudentClaimRepository studentClaimRepository;
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Claims the ID, or confirms the caller already holds it.
+     *
+     * @param token the claim token the caller was given before, or null
+     * @return the claim token to keep, or null when someone else holds the ID
+     */
+    public String claim(String studentId, String token) {
+        StudentClaim existing = studentClaimRepository.findByStudentId(studentId).orElse(null);
+        if (existing != null) {
+            return token != null && MessageDigest.isEqual(
+                    hash(token).getBytes(StandardCharsets.US_ASCII),
+                    existing.getTokenHash().getBytes(StandardCharsets.US_ASCII)) ? token : null;
+        }
+
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String issued = ENCODER.encodeToString(bytes);
+        try {
+            studentClaimRepository.save(new StudentClaim(studentId, hash(issued)));
+        } catch (DataIntegrityViolationException e) {
+            // Claimed at the same moment by another sign-in, possibly on another node
+            return null;
+        }
+        return issued;
+    }
+
+    // Lets the next sign-in under the ID claim it; false when nobody held it
+    public boolean release(String studentId) {
+        return studentClaimRepository.deleteByStudentId(studentId) > 0;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
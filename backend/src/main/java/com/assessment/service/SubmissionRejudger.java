@@ -0,0 +1,188 @@
+package com.assessment.service;
+
+import com.assessment.dto.SubmissionResult;
+import com.assessment.judge.JudgeMode;
+import com.assessment.judge.TestSuite;
+import com.assessment.judge.Verdict;
+import com.assessment.model.Submission;
+import com.assessment.repository.SubmissionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Brings stored verdicts up to date after a question's test cases change on
+ * this node. Every submission judged against another version of the suite
+ * is judged again, one at a time on the judge pool so live submissions are
+ * never crowded out, and its row is rewritten; each node's leaderboard picks
+ * the new verdicts up from the table.
+ *
+ * Only verdicts that depend on the code alone are stored. When the judge
+ * itself fails (no runner, a runner that went down, the response timeout
+ * running out under load) the submission is tried again a few times, and
+ * then keeps its old verdict and suite version for the next pass.
+ *
+ * Only the node that made the edit rejudges. If it stops part way, the
+ * remaining rows keep their old verdicts until the question is next edited.
+ */
+@Service
+public class SubmissionRejudger {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private TestCaseStore testCaseStore;
+
+    @Autowired
+    private JudgeService judgeService;
+
+    @Autowired
+    private JudgeExecutor judgeExecutor;
+
+    @Autowired
+    private VerdictCache verdictCache;
+
+    @Value("${app.judge.response-timeout-ms:30000}")
+    private long responseTimeoutMs;
+
+    @Value("${app.judge.retry-after-seconds:5}")
+    private int retryAfterSeconds;
+
+    @Value("${app.submissions.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    // Questions waiting to be rejudged, in the order they changed
+    private final Set<Long> pending = new LinkedHashSet<>();
+    private final Thread worker;
+
+    public SubmissionRejudger() {
+        this.worker = new Thread(this::workLoop, "submission-rejudger");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.start();
+    }
+
+    // Queue a question whose test cases were just changed here; a question already waiting is not queued twice
+    public synchronized void schedule(Long questionId) {
+        pending.add(questionId);
+        notifyAll();
+    }
+
+    private void workLoop() {
+        while (true) {
+            try {
+                Long questionId = next();
+                // Submissions judged against the old suite may still be queued for writing
+                Thread.sleep(2 * flushIntervalMs + 1000);
+                rejudge(questionId);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                System.out.println("⚠ Rejudging stopped: " + e.getMessage());
+            }
+        }
+    }
+
+    private synchronized Long next() throws InterruptedException {
+        while (pending.isEmpty()) {
+            wait();
+        }
+        Iterator<Long> iterator = pending.iterator();
+        Long questionId = iterator.next();
+        iterator.remove();
+        return questionId;
+    }
+
+    void rejudge(Long questionId) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        int count = 0;
+        int left = 0;
+        long afterId = 0;
+        while (true) {
+            // Re-read per page: after a further edit the rest of the pass uses the new suite (and a new pass is queued)
+            TestSuite suite = testCaseStore.get(questionId);
+            if (suite == null || suite.getError() != null) {
+                return;
+            }
+            List<Submission> page = submissionRepository.findStale(questionId, suite.getVersion(), afterId,
+                    PageRequest.of(0, PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            for (Submission submission : page) {
+                afterId = submission.getId();
+                SubmissionResult result = judge(suite, submission.getCode());
+                if (result == null) {
+                    left++;
+                    continue;
+                }
+                submission.rejudged(suite.getVersion(), result);
+                submission.setWrittenAt(LocalDateTime.now());
+                submissionRepository.save(submission);
+                count++;
+            }
+        }
+        if (count > 0) {
+            System.out.println("✓ Rejudged " + count + " submission(s) for question " + questionId + " in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        }
+        if (left > 0) {
+            System.out.println("⚠ Could not rejudge " + left + " submission(s) for question " + questionId
+                    + "; they keep their verdicts until the next pass");
+        }
+    }
+
+    // The code's verdict against the suite, or null when the judge kept failing to reach one
+    private SubmissionResult judge(TestSuite suite, String code) throws InterruptedException {
+        VerdictCache.Key key = VerdictCache.keyFor(suite.getQuestionId(), suite.getVersion(), JudgeMode.FULL, code);
+        SubmissionResult cached = verdictCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int attempts = 0;
+        while (true) {
+            SubmissionResult backstop = SubmissionResult.failed(suite.getQuestionId(),
+                    Verdict.TIME_LIMIT_EXCEEDED, "Judging did not finish in time");
+            SubmissionResult result;
+            try {
+                result = judgeExecutor.submit(() -> {
+                            SubmissionResult judged = judgeService.judge(suite, code, JudgeMode.FULL);
+                            verdictCache.put(key, judged);
+                            return judged;
+                        })
+                        .completeOnTimeout(backstop, responseTimeoutMs, TimeUnit.MILLISECONDS)
+                        .join();
+            } catch (RejectedExecutionException e) {
+                // The pool is busy with live submissions; they go first
+                Thread.sleep(retryAfterSeconds * 1000L);
+                continue;
+            }
+            // A time limit the code ran into is its verdict; the response timeout running out is not
+            if (result != backstop && !result.judgeFailed()) {
+                return result;
+            }
+            if (++attempts >= MAX_ATTEMPTS) {
+                return null;
+            }
+            Thread.sleep(retryAfterSeconds * 1000L);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.assessment.service;
+
+import com.assessment.model.Submission;
+import com.assessment.repository.SubmissionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind queue for submission records. Request threads only enqueue;
+ * a single writer thread drains whatever has accumulated and inserts it in
+ * one transaction, which Hibernate sends as JDBC batches. A burst of
+ * submissions therefore costs a handful of commits instead of one each.
+ *
+ * Records are held in memory until written, so a crash can lose the last
+ * flush interval's worth. When the queue is full new records are dropped
+ * rather than blocking grading. Written records are handed to the
+ * leaderboard, so standings only ever count what is in the database.
+ */
+@Service
+public class SubmissionWriter {
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    private final BlockingQueue<Submission> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Thread writer;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+
+    public SubmissionWriter(
+            @Value("${app.submissions.queue-capacity:100000}") int queueCapacity,
+            @Value("${app.submissions.batch-size:500}") int batchSize,
+            @Value("${app.submissions.flush-interval-ms:200}") long flushIntervalMs) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.writer = new Thread(this::drainLoop, "submission-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    // Queue a submission for the next flush; false when the queue is full and it was dropped
+    public boolean record(Submission submission) {
+        if (queue.offer(submission)) {
+            return true;
+        }
+        if (dropped.incrementAndGet() % 1000 == 1) {
+            System.out.println("⚠ Submission queue full, dropped " + dropped.get() + " record(s) so far");
+        }
+        return false;
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void drainLoop() {
+        List<Submission> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Submission first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Give a burst a moment to accumulate so it goes out as one transaction
+                if (queue.size() < batchSize - 1) {
+                    Thread.sleep(flushIntervalMs);
+                }
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Submission> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Submission submission : batch) {
+            submission.setWrittenAt(now);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> submissionRepository.saveAll(batch));
+            written.addAndGet(batch.size());
+            leaderboardService.recordAll(batch);
+        } catch (RuntimeException e) {
+            System.out.println("⚠ Failed to write " + batch.size() + " submission(s): " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flush() throws InterruptedException {
+        // Not interrupted, so a batch already being written is allowed to commit
+        running = false;
+        writer.join(5000);
+
+        // Write out everything still queued before the data source goes away
+        List<Submission> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+}
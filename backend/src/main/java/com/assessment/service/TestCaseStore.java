@@ -0,0 +1,125 @@
+package com.assessment.service;
+
+import com.assessment.judge.TestSuite;
+import com.assessment.model.Question;
+import com.assessment.repository.QuestionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed test suites by question id. Admin writes validate and store the new
+ * suite up front and every stored question is prepared at startup; anything
+ * else is prepared on first use. Preparing includes running the reference
+ * solution, so the grading path only does a map lookup and never executes
+ * reference code.
+ */
+@Service
+public class TestCaseStore {
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JudgeService judgeService;
+
+    private final Map<Long, TestSuite> suites = new ConcurrentHashMap<>();
+
+    /**
+     * Parses a question's test cases and, when it has a reference solution,
+     * runs it once to fill in expected outputs and runtimes. Nothing is
+     * stored, so admin writes can be rejected before anything is saved.
+     *
+     * @throws IllegalArgumentException when the test cases or the reference solution are unusable
+     */
+    public TestSuite prepare(Question question) {
+        TestSuite suite = TestSuite.parse(question.getId(), question.getTestCases(), objectMapper);
+        if (question.getSolution() != null && !question.getSolution().isBlank()) {
+            suite = judgeService.runReference(suite, question.getSolution());
+        }
+
+        int missing = suite.firstMissingExpected();
+        if (missing >= 0) {
+            throw new IllegalArgumentException("Test case " + (missing + 1)
+                    + " has no expected output and there is no reference solution to produce one");
+        }
+        return suite;
+    }
+
+    // Store a suite prepared for a question that was just saved
+    public void put(Long questionId, TestSuite suite) {
+        suites.put(questionId, suite.forQuestion(questionId));
+    }
+
+    // Suite for a question, loading and preparing it on first use; null when the question does not exist
+    public TestSuite get(Long questionId) {
+        TestSuite suite = suites.get(questionId);
+        if (suite != null) {
+            return suite;
+        }
+
+        Optional<Question> question = questionRepository.findById(questionId);
+        if (question.isEmpty()) {
+            return null;
+        }
+        // Prepared outside the map so a slow reference run does not hold a map lock
+        TestSuite loaded = load(question.get());
+        TestSuite existing = suites.putIfAbsent(questionId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    // Suite already prepared for a question, without loading one; null when there is none
+    public TestSuite getIfPrepared(Long questionId) {
+        return suites.get(questionId);
+    }
+
+    // Re-prepare the suite for a question changed on another node
+    public void refresh(Question question) {
+        suites.put(question.getId(), load(question));
+    }
+
+    /**
+     * Replaces every stored suite with freshly prepared ones, so reference
+     * solutions run once at startup rather than on the first submission.
+     */
+    public void loadAll(List<Question> questions) {
+        long start = System.currentTimeMillis();
+        suites.clear();
+        for (Question question : questions) {
+            suites.put(question.getId(), load(question));
+        }
+        System.out.println("✓ Prepared test cases for " + questions.size() + " question(s) in "
+                + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private TestSuite load(Question question) {
+        try {
+            return prepare(question);
+        } catch (IllegalArgumentException e) {
+            System.out.println("⚠ Question " + question.getId() + ": " + e.getMessage());
+        }
+        // A broken reference solution should not block grading when every case has a stored expected output
+        try {
+            TestSuite suite = TestSuite.parse(question.getId(), question.getTestCases(), objectMapper);
+            if (suite.firstMissingExpected() < 0) {
+                return suite;
+            }
+            return TestSuite.invalid(question.getId(), "test case " + (suite.firstMissingExpected() + 1)
+                    + " has no expected output");
+        } catch (IllegalArgumentException e) {
+            return TestSuite.invalid(question.getId(), e.getMessage());
+        }
+    }
+
+    public void evict(Long questionId) {
+        suites.remove(questionId);
+    }
+}
@@ -0,0 +1,94 @@
+package com.assessment.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets for one rate-limit rule, keyed by client. Each bucket is a
+ * single long, the time at which it will be full again (the GCRA form of a
+ * token bucket), updated with compare-and-set, so taking a permit never
+ * blocks. Keys are spread over stripes, each holding at most a fixed number
+ * of buckets; a full bucket is indistinguishable from a new one, so idle
+ * clients can be dropped at any time without changing anyone's limit.
+ */
+final class TokenBucketTable {
+
+    private static final int STRIPES = 64;
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final int maxPerStripe;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    // Shared by new clients while their stripe is full of active ones
+    private final AtomicLong[] overflow;
+
+    @SuppressWarnings("unchecked")
+    TokenBucketTable(long intervalNanos, int burst, int maxClients) {
+        this.intervalNanos = intervalNanos;
+        this.capacityNanos = intervalNanos * burst;
+        this.maxPerStripe = Math.max(1, maxClients / STRIPES);
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        this.overflow = new AtomicLong[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+            overflow[i] = new AtomicLong(Long.MIN_VALUE);
+        }
+    }
+
+    // 0 when a permit was taken, otherwise how many nanoseconds until one is available
+    long tryAcquire(String key, long now) {
+        int hash = key.hashCode();
+        int index = (hash ^ (hash >>> 16)) & (STRIPES - 1);
+        AtomicLong bucket = stripes[index].get(key);
+        if (bucket == null) {
+            bucket = insert(index, key, now);
+        }
+
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + intervalNanos;
+            long wait = next - now - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely. A request racing the
+     * removal may take its permit from the dropped bucket, which at worst
+     * lets that client through once more than it should.
+     */
+    int evictIdle(long now) {
+        int remaining = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            stripe.values().removeIf(bucket -> bucket.get() - now <= 0);
+            remaining += stripe.size();
+        }
+        return remaining;
+    }
+
+    int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private AtomicLong insert(int index, String key, long now) {
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[index];
+        if (stripe.size() >= maxPerStripe) {
+            stripe.values().removeIf(bucket -> bucket.get() - now <= 0);
+            if (stripe.size() >= maxPerStripe) {
+                return overflow[index];
+            }
+        }
+        AtomicLong bucket = new AtomicLong(now);
+        AtomicLong existing = stripe.putIfAbsent(key, bucket);
+        return existing != null ? existing : bucket;
+    }
+}
@@ -0,0 +1,88 @@
+package com.assessment.service;
+
+import com.assessment.dto.SubmissionResult;
+import com.assessment.judge.JudgeMode;
+import com.assessment.judge.SourceNormalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers verdicts for code that has already been judged, keyed by question,
+ * test-case version, judge mode and a hash of the normalized source. Resubmitting the
+ * starter code or a classmate's byte-identical solution skips compilation and
+ * execution entirely. Bounded, least-recently-used eviction.
+ */
+@Service
+public class VerdictCache {
+
+    private final Map<Key, SubmissionResult> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VerdictCache(@Value("${app.judge.verdict-cache-size:10000}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, SubmissionResult> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static Key keyFor(Long questionId, long testCaseVersion, JudgeMode mode, String code) {
+        return new Key(questionId, testCaseVersion, mode, SourceNormalizer.hash(code));
+    }
+
+    public SubmissionResult get(Key key) {
+        SubmissionResult result;
+        synchronized (this) {
+            result = entries.get(key);
+        }
+        (result != null ? hits : misses).increment();
+        return result;
+    }
+
+    /**
+     * Caches a verdict unless any part of it depends on load. The first
+     * failing case decides the overall verdict, so a wrong answer can still
+     * carry later cases that timed out, found no runner or lost theirs; an
+     * identical resubmission is judged again instead of getting those back.
+     */
+    public void put(Key key, SubmissionResult result) {
+        if (result.dependsOnLoad()) {
+            return;
+        }
+        synchronized (this) {
+            entries.put(key, result);
+        }
+    }
+
+    // Drop every cached verdict for a question whose test cases were edited or that was deleted
+    public synchronized void invalidate(Long questionId) {
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().questionId().equals(questionId)) {
+                keys.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public record Key(Long questionId, long testCaseVersion, JudgeMode mode, String sourceHash) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.assessment.service;
+
+import com.assessment.dto.SubmissionResult;
+import com.assessment.dto.TestCaseResult;
+import com.assessment.judge.JudgeMode;
+import com.assessment.judge.TestSuite;
+import com.assessment.judge.Verdict;
+import com.assessment.model.Submission;
+import com.assessment.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SubmissionRejudgerTest {
+
+    private static final Long QUESTION_ID = 1L;
+    private static final String CODE = "class Solution { public int solve(int a) { return a; } }";
+
+    private final SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
+    private final TestCaseStore testCaseStore = mock(TestCaseStore.class);
+    private final JudgeService judgeService = mock(JudgeService.class);
+    private final JudgeExecutor judgeExecutor = mock(JudgeExecutor.class);
+    private final TestSuite suite = mock(TestSuite.class);
+    private final SubmissionRejudger rejudger = new SubmissionRejudger();
+    private Submission submission;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(rejudger, "submissionRepository", submissionRepository);
+        ReflectionTestUtils.setField(rejudger, "testCaseStore", testCaseStore);
+        ReflectionTestUtils.setField(rejudger, "judgeService", judgeService);
+        ReflectionTestUtils.setField(rejudger, "judgeExecutor", judgeExecutor);
+        ReflectionTestUtils.setField(rejudger, "verdictCache", new VerdictCache(100));
+        ReflectionTestUtils.setField(rejudger, "responseTimeoutMs", 30000L);
+        ReflectionTestUtils.setField(rejudger, "retryAfterSeconds", 0);
+
+        when(suite.getQuestionId()).thenReturn(QUESTION_ID);
+        when(suite.getVersion()).thenReturn(2L);
+        when(testCaseStore.get(QUESTION_ID)).thenReturn(suite);
+        when(judgeExecutor.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()));
+
+        submission = new Submission();
+        submission.setId(10L);
+        submission.setQuestionId(QUESTION_ID);
+        submission.setStudentId("s1");
+        submission.setCode(CODE);
+        submission.setSuiteVersion(1L);
+        submission.setVerdict(Verdict.ACCEPTED);
+        submission.setScore(100);
+        submission.setPassedCount(2);
+        submission.setTotalCount(2);
+        when(submissionRepository.findStale(eq(QUESTION_ID), eq(2L), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(submission), List.of());
+    }
+
+    @Test
+    void aRejudgeThatFindsNoRunnerLeavesTheAcceptedSubmissionAlone() throws InterruptedException {
+        when(judgeService.judge(suite, CODE, JudgeMode.FULL)).thenReturn(
+                SubmissionResult.failed(QUESTION_ID, Verdict.SYSTEM_ERROR, "The judge is busy; please submit again"));
+
+        rejudger.rejudge(QUESTION_ID);
+
+        verify(judgeService, times(3)).judge(suite, CODE, JudgeMode.FULL);
+        verify(submissionRepository, never()).save(any());
+        assertEquals(Verdict.ACCEPTED, submission.getVerdict());
+        assertEquals(100, submission.getScore());
+        assertEquals(1L, submission.getSuiteVersion());
+    }
+
+    @Test
+    void aRejudgeWithCasesNoRunnerRanLeavesTheAcceptedSubmissionAlone() throws InterruptedException {
+        when(judgeService.judge(suite, CODE, JudgeMode.FULL)).thenReturn(SubmissionResult.graded(QUESTION_ID,
+                List.of(new TestCaseResult("1", "1", "1", Verdict.ACCEPTED, 1),
+                        new TestCaseResult("2", "2", "No judge runner is available", Verdict.SYSTEM_ERROR, 0)),
+                1));
+
+        rejudger.rejudge(QUESTION_ID);
+
+        verify(submissionRepository, never()).save(any());
+        assertEquals(Verdict.ACCEPTED, submission.getVerdict());
+        assertEquals(1L, submission.getSuiteVersion());
+    }
+
+    @Test
+    void aRejudgeThatSucceedsOnRetryIsStored() throws InterruptedException {
+        when(judgeService.judge(suite, CODE, JudgeMode.FULL)).thenReturn(
+                SubmissionResult.failed(QUESTION_ID, Verdict.SYSTEM_ERROR, "The judge is busy; please submit again"),
+                SubmissionResult.graded(QUESTION_ID,
+                        List.of(new TestCaseResult("1", "1", "2", Verdict.WRONG_ANSWER, 1)), 1));
+
+        rejudger.rejudge(QUESTION_ID);
+
+        verify(submissionRepository).save(submission);
+        assertEquals(Verdict.WRONG_ANSWER, submission.getVerdict());
+        assertEquals(2L, submission.getSuiteVersion());
+    }
+
+    @Test
+    void aTimeLimitTheCodeRanIntoIsStored() throws InterruptedException {
+        when(judgeService.judge(suite, CODE, JudgeMode.FULL)).thenReturn(SubmissionResult.graded(QUESTION_ID,
+                List.of(new TestCaseResult("1", "1", "Time limit exceeded", Verdict.TIME_LIMIT_EXCEEDED, 1000)), 1));
+
+        rejudger.rejudge(QUESTION_ID);
+
+        verify(submissionRepository).save(submission);
+        assertEquals(Verdict.TIME_LIMIT_EXCEEDED, submission.getVerdict());
+    }
+}
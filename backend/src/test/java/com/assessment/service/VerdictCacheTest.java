@@ -0,0 +1,77 @@
+package com.assessment.service;
+
+import com.assessment.dto.SubmissionResult;
+import com.assessment.dto.TestCaseResult;
+import com.assessment.judge.JudgeMode;
+import com.assessment.judge.Verdict;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VerdictCacheTest {
+
+    private final VerdictCache cache = new VerdictCache(100);
+    private final VerdictCache.Key key = VerdictCache.keyFor(1L, 1, JudgeMode.FULL, "class Solution {}");
+
+    @Test
+    void cachesAWrongAnswerDecidedByTheCodeAlone() {
+        cache.put(key, graded(wrong(), accepted()));
+
+        assertNotNull(cache.get(key));
+    }
+
+    @Test
+    void refusesAWrongAnswerWithALaterTimeout() {
+        cache.put(key, graded(wrong(), testCase(Verdict.TIME_LIMIT_EXCEEDED, "Time limit exceeded")));
+
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    void refusesAWrongAnswerWithCasesNoRunnerRan() {
+        cache.put(key, graded(wrong(), testCase(Verdict.SYSTEM_ERROR, "No judge runner is available")));
+
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    void refusesAWrongAnswerWithACaseWhoseRunnerWentDown() {
+        cache.put(key, graded(wrong(),
+                testCase(Verdict.RUNTIME_ERROR, TestCaseResult.JVM_TERMINATED + " (exit code 137)")));
+
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    void cachesARuntimeErrorThrownByTheCode() {
+        cache.put(key, graded(testCase(Verdict.RUNTIME_ERROR, "java.lang.ArithmeticException: / by zero")));
+
+        assertNotNull(cache.get(key));
+    }
+
+    @Test
+    void refusesAFailedSubmission() {
+        cache.put(key, SubmissionResult.failed(1L, Verdict.SYSTEM_ERROR, "The judge is busy; please submit again"));
+
+        assertNull(cache.get(key));
+    }
+
+    private static SubmissionResult graded(TestCaseResult... cases) {
+        return SubmissionResult.graded(1L, List.of(cases), 1);
+    }
+
+    private static TestCaseResult accepted() {
+        return testCase(Verdict.ACCEPTED, "3");
+    }
+
+    private static TestCaseResult wrong() {
+        return testCase(Verdict.WRONG_ANSWER, "4");
+    }
+
+    private static TestCaseResult testCase(Verdict verdict, String output) {
+        return new TestCaseResult("1 2", "3", output, verdict, 1);
+    }
+}
@@ -33,7 +33,8 @@ function App() {
 
                 // Fall back to server-side auth check
                 const response = await checkAuth();
-                if (response.success) {
+                // Student sessions only credit submissions; they do not sign in to the admin UI
+                if (response.success && response.role === 'ADMIN') {
                     setUser({ username: response.username, role: response.role });
                 }
             } catch (error) {
@@ -81,7 +82,7 @@ function App() {
                         <Route
                             path="/admin"
                             element={
-                                user?.role === 'ADMIN' ? <AdminDashboard /> : <Navigate to="/login" replace />
+                                user?.role === 'ADMIN' ? <AdminDashboard onSessionExpired={handleLogout} /> : <Navigate to="/login" replace />
                             }
                         />
                         <Route path="*" element={<Navigate to="/" replace />} />
@@ -2,7 +2,7 @@ import { useState, useEffect } from 'react';
 import { getAdminQuestions, createQuestion, updateQuestion, deleteQuestion } from '../services/api';
 import StarBackground from './StarBackground';
 
-function AdminDashboard() {
+function AdminDashboard({ onSessionExpired }) {
     const [questions, setQuestions] = useState([]);
     const [loading, setLoading] = useState(true);
     const [showModal, setShowModal] = useState(false);
@@ -26,6 +26,11 @@ function AdminDashboard() {
             const data = await getAdminQuestions();
             setQuestions(data);
         } catch (error) {
+            // The admin list needs a live admin session; the saved login can outlast it
+            if (error.response?.status === 401 || error.response?.status === 403) {
+                onSessionExpired?.();
+                return;
+            }
             console.error('Failed to fetch questions:', error);
         } finally {
             setLoading(false);
@@ -1,6 +1,6 @@
 import { useState } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { login } from '../services/api';
+import { login, registerStudent } from '../services/api';
 import StarBackground from './StarBackground';
 
 function Login({ onLogin }) {
@@ -32,7 +32,11 @@ function Login({ onLogin }) {
                 setError(response.message || 'Invalid credentials');
             }
         } catch (error) {
-            setError('Connection error. Please try again.');
+            if (error.response?.status === 429) {
+                setError(error.response.data?.message || 'Too many sign-ins right now. Please try again in a moment.');
+            } else {
+                setError('Connection error. Please try again.');
+            }
         } finally {
             setLoading(false);
         }
@@ -43,16 +47,31 @@ function Login({ onLogin }) {
         setError('');
         setLoading(true);
 
-        // Simple student login - just store student info and redirect to questions
-        if (studentId.trim()) {
+        if (!studentId.trim()) {
+            setError('Please enter your Student ID');
+            setLoading(false);
+            return;
+        }
+
+        try {
+            // The server keeps the Student ID in the session and credits submissions to it
+            const response = await registerStudent(studentId.trim());
             localStorage.setItem('studentInfo', JSON.stringify({
-                studentId: studentId,
+                studentId: response.username || studentId.trim(),
                 loginTime: Date.now()
             }));
-            setLoading(false);
             navigate('/questions');
-        } else {
-            setError('Please enter your Student ID');
+        } catch (error) {
+            if (error.response?.status === 429) {
+                setError(error.response.data?.message || 'Too many sign-ins right now. Please try again in a moment.');
+            } else if (error.response?.status === 400) {
+                setError(error.response.data?.message || 'Please enter a valid Student ID');
+            } else if (error.response?.status === 409) {
+                setError(error.response.data?.message || 'This Student ID is already in use on another browser');
+            } else {
+                setError('Connection error. Please try again.');
+            }
+        } finally {
             setLoading(false);
         }
     };
@@ -1,7 +1,6 @@
 import { useState, useEffect } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
-import { getQuestions } from '../services/api';
-import { validateCodeWithGemini } from '../services/gemini';
+import { getQuestionSummaries, getQuestionById, subscribeToQuestionEvents, mergeReleasedQuestions, submitCode } from '../services/api';
 import StarBackground from './StarBackground';
 import FullscreenEnforcer from './FullscreenEnforcer';
 import Editor from '@monaco-editor/react';
@@ -22,25 +21,59 @@ function ProblemPage() {
     });
 
     const [error, setError] = useState(null);
+    const [revision, setRevision] = useState(0);
 
     useEffect(() => {
         fetchQuestions();
+        return subscribeToQuestionEvents({
+            onUnlock: (released) => {
+                setQuestions(prev => mergeReleasedQuestions(prev, released));
+                // Unlock events carry full questions, so the open one can be swapped in place
+                setCurrentQuestion(prev => (prev && released.find(r => r.id === prev.id)) || prev);
+            },
+            onUpdate: () => {
+                fetchQuestions();
+                setRevision(r => r + 1);
+            },
+        });
     }, []);
 
+    // The sidebar only has summaries; load the full text for the open question alone
+    const openId = questions.find(q => q.id === parseInt(id))?.id ?? questions[0]?.id;
+
     useEffect(() => {
-        if (questions.length > 0) {
-            const question = questions.find(q => q.id === parseInt(id)) || questions[0];
-            setCurrentQuestion(question);
+        if (openId == null) {
+            return;
+        }
+        let cancelled = false;
+        getQuestionById(openId)
+            .then(question => {
+                if (!cancelled) {
+                    setCurrentQuestion(question);
+                }
+            })
+            .catch(err => {
+                console.error('Failed to load question:', err);
+                if (!cancelled) {
+                    setError('Failed to load the question. Please ensure the backend server is running.');
+                }
+            });
+        return () => { cancelled = true; };
+    }, [openId, revision]);
+
+    // Reset the editor only when switching problems, not when a pushed unlock refreshes the list
+    useEffect(() => {
+        if (currentQuestion) {
             // Use starter code from API, or fallback
-            setCode(question?.starterCode || getStarterCode(question?.title || ''));
+            setCode(currentQuestion.starterCode || getStarterCode(currentQuestion.title || ''));
             setOutput('');
             setValidationResult(null);
         }
-    }, [id, questions]);
+    }, [currentQuestion?.id]);
 
     const fetchQuestions = async () => {
         try {
-            const data = await getQuestions();
+            const data = await getQuestionSummaries();
             setQuestions(data);
         } catch (err) {
             console.error('Failed to load questions:', err);
@@ -61,20 +94,26 @@ function ProblemPage() {
         navigate(`/problem/${question.id}`);
     };
 
+    const describeSubmitError = (error) => {
+        if (error.response?.status === 429) {
+            const retryAfter = error.response.headers['retry-after'] || 'a few';
+            return `⏳ The judge is busy right now. Please try again in ${retryAfter} seconds.`;
+        }
+        if (error.response?.status === 403) {
+            return '🔒 This question has not been released yet.';
+        }
+        return `❌ Error validating code: ${error.message}`;
+    };
+
     const handleRun = async () => {
         setIsRunning(true);
-        setOutput('🚀 Running text cases with AI...');
+        setOutput('🚀 Running test cases...');
         setValidationResult(null);
 
         try {
-            const result = await validateCodeWithGemini(
-                code,
-                currentQuestion?.title || '',
-                currentQuestion?.description || '',
-                currentQuestion?.solution || ''
-            );
-
-            if (result.isCorrect) {
+            const result = await submitCode(currentQuestion?.id, code);
+
+            if (result.correct) {
                 setOutput(
                     `✅ Test Run Passed!\n\n` +
                     'Sample Test Case Results:\n' +
@@ -93,33 +132,28 @@ function ProblemPage() {
                 failureMsg += `Feedback: ${result.feedback}\n\n` +
                     'Test Case Results:\n' +
                     (result.testCaseResults?.map((tc, i) =>
-                        `  ${tc.passed ? '✓' : '✗'} Test ${i + 1}: ${tc.passed ? 'Passed' : 'Failed'}`
+                        `  ${tc.passed ? '✓' : '✗'} Test ${i + 1}: ${tc.passed ? 'Passed' : tc.verdict.replaceAll('_', ' ')}`
                     ).join('\n') || 'Check your logic.');
 
                 setOutput(failureMsg);
             }
         } catch (error) {
-            setOutput(`❌ Error validating code: ${error.message}`);
+            setOutput(describeSubmitError(error));
         }
         setIsRunning(false);
     };
 
     const handleSubmit = async () => {
         setIsRunning(true);
-        setOutput('🔍 Validating your solution with AI...');
+        setOutput('🔍 Judging your solution...');
         setValidationResult(null);
 
         try {
-            const result = await validateCodeWithGemini(
-                code,
-                currentQuestion?.title || '',
-                currentQuestion?.description || '',
-                currentQuestion?.solution || ''
-            );
+            const result = await submitCode(currentQuestion?.id, code);
 
             setValidationResult(result);
 
-            if (result.isCorrect && result.score >= 70) {
+            if (result.correct) {
                 const newSolved = [...solvedQuestions, currentQuestion?.id];
                 // Avoid duplicates
                 if (!solvedQuestions.includes(currentQuestion?.id)) {
@@ -140,14 +174,15 @@ function ProblemPage() {
                 setOutput(
                     `❌ Solution Needs Improvement. Score: ${result.score}/100\n\n` +
                     `Feedback: ${result.feedback}\n\n` +
-                    (result.suggestions?.length > 0
-                        ? 'Suggestions:\n' + result.suggestions.map(s => `  • ${s}`).join('\n')
-                        : '') +
+                    (result.compilationError ? `❌ COMPILATION ERROR:\n${result.compilationError}\n\n` : '') +
+                    (result.testCaseResults?.map((tc, i) =>
+                        `  ${tc.passed ? '✓' : '✗'} Test ${i + 1}: ${tc.passed ? 'Passed' : tc.verdict.replaceAll('_', ' ')}`
+                    ).join('\n') || '') +
                     '\n\nPlease review your code and try again.'
                 );
             }
         } catch (error) {
-            setOutput(`❌ Error validating code: ${error.message}`);
+            setOutput(describeSubmitError(error));
         }
 
         setIsRunning(false);
@@ -339,7 +374,7 @@ function ProblemPage() {
                                             Console Output
                                         </span>
                                         {validationResult && (
-                                            <span className={`text-xs font-bold ${validationResult.isCorrect ? 'text-emerald-400' : 'text-rose-400'}`}>
+                                            <span className={`text-xs font-bold ${validationResult.correct ? 'text-emerald-400' : 'text-rose-400'}`}>
                                                 Score: {validationResult.score}/100
                                             </span>
                                         )}
@@ -1,6 +1,6 @@
 import { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { getQuestions } from '../services/api';
+import { getQuestionSummaries, subscribeToQuestionEvents, mergeReleasedQuestions } from '../services/api';
 import StarBackground from './StarBackground';
 
 function QuestionsList() {
@@ -14,11 +14,15 @@ function QuestionsList() {
 
     useEffect(() => {
         fetchQuestions();
+        return subscribeToQuestionEvents({
+            onUnlock: (released) => setQuestions(prev => mergeReleasedQuestions(prev, released)),
+            onUpdate: () => fetchQuestions(),
+        });
     }, []);
 
     const fetchQuestions = async () => {
         try {
-            const data = await getQuestions();
+            const data = await getQuestionSummaries();
             setQuestions(data);
         } catch (error) {
             console.error('Failed to load questions:', error);
@@ -1,5 +1,5 @@
 import { useState, useEffect } from 'react';
-import { getQuestions } from '../services/api';
+import { getQuestions, subscribeToQuestionEvents, mergeReleasedQuestions } from '../services/api';
 import QuestionCard from './QuestionCard';
 
 function StudentView() {
@@ -10,6 +10,10 @@ function StudentView() {
 
     useEffect(() => {
         fetchQuestions();
+        return subscribeToQuestionEvents({
+            onUnlock: (released) => setQuestions(prev => mergeReleasedQuestions(prev, released)),
+            onUpdate: () => fetchQuestions(),
+        });
     }, []);
 
     const fetchQuestions = async () => {
@@ -21,6 +21,28 @@ export const logout = async () => {
     return response.data;
 };
 
+// Claim tokens by Student ID: the first sign-in under an ID claims it, later ones must present the token
+const STUDENT_CLAIMS_KEY = 'studentClaims';
+
+const readStudentClaims = () => {
+    try {
+        return JSON.parse(localStorage.getItem(STUDENT_CLAIMS_KEY)) || {};
+    } catch {
+        return {};
+    }
+};
+
+// Students sign in with just their Student ID; the server remembers it in the session
+export const registerStudent = async (studentId) => {
+    const claims = readStudentClaims();
+    const response = await api.post('/auth/student', { studentId, claimToken: claims[studentId] });
+    if (response.data.claimToken) {
+        localStorage.setItem(STUDENT_CLAIMS_KEY,
+            JSON.stringify({ ...claims, [studentId]: response.data.claimToken }));
+    }
+    return response.data;
+};
+
 export const checkAuth = async () => {
     const response = await api.get('/auth/check');
     return response.data;
@@ -32,11 +54,70 @@ export const getQuestions = async () => {
     return response.data;
 };
 
+// Id, title and release time only, for lists and sidebars; walks the keyset-paged summary endpoint
+export const getQuestionSummaries = async () => {
+    const summaries = [];
+    let cursor = null;
+    do {
+        const response = await api.get('/questions/summary', { params: { cursor, limit: 200 } });
+        summaries.push(...response.data.items);
+        cursor = response.data.nextCursor;
+    } while (cursor);
+    return summaries;
+};
+
 export const getQuestionById = async (id) => {
     const response = await api.get(`/questions/${id}`);
     return response.data;
 };
 
+// Question events (server push instead of polling around release times)
+// "unlock" carries the newly released questions, "update" means the list changed and should be refetched
+// Every open page hears an update at the same moment; spread their refetches out instead of all at once
+const UPDATE_REFETCH_SPREAD_MS = 3000;
+
+export const subscribeToQuestionEvents = ({ onUnlock, onUpdate }) => {
+    const source = new EventSource(`${API_BASE}/questions/events`, { withCredentials: true });
+    let pendingUpdate = null;
+    source.addEventListener('unlock', (event) => onUnlock?.(JSON.parse(event.data)));
+    source.addEventListener('update', () => {
+        // Several edits in quick succession still cause one refetch
+        if (pendingUpdate) {
+            return;
+        }
+        pendingUpdate = setTimeout(() => {
+            pendingUpdate = null;
+            onUpdate?.();
+        }, Math.random() * UPDATE_REFETCH_SPREAD_MS);
+    });
+    return () => {
+        clearTimeout(pendingUpdate);
+        source.close();
+    };
+};
+
+// Replace questions in the current list with their released versions
+export const mergeReleasedQuestions = (questions, released) =>
+    questions.map(q => released.find(r => r.id === q.id) || q);
+
+// Submissions API (judged on the server against the stored test cases)
+export const submitCode = async (questionId, code) => {
+    // Attempts are credited to the student the session belongs to
+    try {
+        const response = await api.post('/submissions', { questionId, code });
+        return response.data;
+    } catch (error) {
+        // The session expired (or the server restarted): sign in again with the stored Student ID and retry once
+        const studentInfo = JSON.parse(localStorage.getItem('studentInfo') || 'null');
+        if (error.response?.status !== 401 || !studentInfo?.studentId) {
+            throw error;
+        }
+        await registerStudent(studentInfo.studentId);
+        const response = await api.post('/submissions', { questionId, code });
+        return response.data;
+    }
+};
+
 // Questions API (Admin view - full access)
 export const getAdminQuestions = async () => {
     const response = await api.get('/questions/admin/all');
@@ -0,0 +1,65 @@
+package com.assessment.loadgen;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The HTTP calls a browser makes, over one shared client. Each caller keeps
+ * its own cookies, so thousands of students do not need thousands of
+ * clients and connection pools.
+ */
+final class Api {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final String baseUrl;
+
+    Api(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    HttpResponse<String> get(String path, String cookies, String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder request = request(path, cookies).GET();
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    HttpResponse<String> post(String path, String cookies, String json) throws IOException, InterruptedException {
+        return client.send(request(path, cookies)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    HttpResponse<String> delete(String path, String cookies) throws IOException, InterruptedException {
+        return client.send(request(path, cookies).DELETE().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // The name=value pairs a response set, as a Cookie header value (session id or auth token, by mode)
+    static String cookiesFrom(HttpResponse<?> response) {
+        List<String> cookies = response.headers().allValues("set-cookie");
+        return cookies.stream()
+                .map(cookie -> cookie.split(";", 2)[0])
+                .collect(Collectors.joining("; "));
+    }
+
+    private HttpRequest.Builder request(String path, String cookies) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60));
+        if (cookies != null && !cookies.isEmpty()) {
+            request.header("Cookie", cookies);
+        }
+        return request;
+    }
+}
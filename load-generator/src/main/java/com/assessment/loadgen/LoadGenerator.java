@@ -0,0 +1,130 @@
+package com.assessment.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contest-day traffic against a running instance: every virtual student
+ * logs in at the same moment, then polls the question list across a release
+ * time and opens what unlocks. Prints throughput and latency percentiles per
+ * operation, plus how long after its release time students saw the test
+ * question unlocked.
+ *
+ * The release time is sent in this machine's local time, so run it on (or in
+ * the same time zone as) the instance under test.
+ */
+public final class LoadGenerator {
+
+    private final Options options;
+    private final Api api;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Metrics metrics = new Metrics();
+
+    private String adminCookies;
+
+    private LoadGenerator(Options options) {
+        this.options = options;
+        this.api = new Api(options.baseUrl());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(Options.USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoadGenerator(options).run();
+    }
+
+    private void run() throws Exception {
+        long releasedQuestionId = -1;
+        long releaseMillis = -1;
+        if (!options.releaseIn().isZero()) {
+            releaseMillis = System.currentTimeMillis() + options.releaseIn().toMillis();
+            releasedQuestionId = createReleasingQuestion(releaseMillis);
+        }
+
+        System.out.printf("%d students against %s for %d s, polling every %d ms%s%n", options.students(),
+                options.baseUrl(), options.duration().toSeconds(), options.pollInterval().toMillis(),
+                releasedQuestionId > 0 ? ", test question " + releasedQuestionId + " releases in "
+                        + options.releaseIn().toSeconds() + " s" : "");
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(options.students(), runnable -> {
+            Thread thread = new Thread(runnable, "student-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CountDownLatch startGate = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        long deadline = start + options.duration().toMillis();
+        // The first sign-in under a Student ID claims it, so each run uses IDs of its own
+        String run = Long.toString(start, 36);
+        for (int i = 0; i < options.students(); i++) {
+            pool.execute(new VirtualStudent(api, objectMapper, metrics, options, "loadgen-" + run + "-" + (i + 1),
+                    startGate, deadline, releasedQuestionId, releaseMillis));
+        }
+
+        startGate.countDown();
+        pool.shutdown();
+        pool.awaitTermination(options.duration().toSeconds() + 120, TimeUnit.SECONDS);
+        long elapsed = System.currentTimeMillis() - start;
+
+        if (releasedQuestionId > 0) {
+            deleteQuestion(releasedQuestionId);
+        }
+        System.out.printf("%nFinished in %.1f s%n", elapsed / 1000.0);
+        metrics.report(System.out, elapsed);
+    }
+
+    // Admin setup: a question that unlocks mid-run, so polling crosses a real release boundary
+    private long createReleasingQuestion(long releaseMillis) throws IOException, InterruptedException {
+        ObjectNode credentials = objectMapper.createObjectNode()
+                .put("username", options.username())
+                .put("password", options.password());
+        HttpResponse<String> login = api.post("/api/auth/login", null, credentials.toString());
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Admin login failed with " + login.statusCode() + ": " + login.body());
+        }
+        adminCookies = Api.cookiesFrom(login);
+
+        LocalDateTime releaseTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(releaseMillis),
+                ZoneId.systemDefault());
+        ObjectNode question = objectMapper.createObjectNode()
+                .put("title", "Load test " + releaseTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .put("description", "<p>Created by the load generator; deleted when the run ends.</p>")
+                .put("testCases", "[{\"input\": \"1\", \"expected\": \"1\"}]")
+                .put("releaseTime", releaseTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        HttpResponse<String> created = api.post("/api/questions", adminCookies, question.toString());
+        if (created.statusCode() != 201) {
+            throw new IllegalStateException("Creating the test question failed with " + created.statusCode()
+                    + ": " + created.body());
+        }
+        JsonNode body = objectMapper.readTree(created.body());
+        return body.path("id").asLong();
+    }
+
+    private void deleteQuestion(long id) throws IOException, InterruptedException {
+        HttpResponse<String> deleted = api.delete("/api/questions/" + id, adminCookies);
+        if (deleted.statusCode() != 204) {
+            System.err.println("Could not delete test question " + id + ": HTTP " + deleted.statusCode());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.assessment.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms (microseconds, 3 significant digits) and outcome counts
+ * per operation, safe to record into from every student thread.
+ */
+final class Metrics {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    // Record one request that started at startNanos and ended now with the given HTTP status (-1 for I/O failure)
+    void record(String operation, long startNanos, int status) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        Operation op = operation(operation);
+        op.latency.recordValue(Math.min(Math.max(micros, 1), MAX_MICROS));
+        if (status == 429) {
+            op.throttled.increment();
+        } else if (status < 200 || status >= 400) {
+            op.errors.increment();
+        }
+    }
+
+    // Record a delay that is not a request, e.g. from a release time until a student saw the question
+    void recordDelay(String operation, long millis) {
+        operation(operation).latency.recordValue(Math.min(Math.max(millis * 1000, 1), MAX_MICROS));
+    }
+
+    void report(PrintStream out, long elapsedMillis) {
+        out.printf("%-22s %9s %8s %8s %9s %9s %9s %9s %9s %9s%n", "operation", "count", "errors", "429s",
+                "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        operations.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    Histogram latency = entry.getValue().latency.copy();
+                    long count = latency.getTotalCount();
+                    out.printf("%-22s %9d %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), count,
+                            entry.getValue().errors.sum(), entry.getValue().throttled.sum(),
+                            count * 1000.0 / Math.max(1, elapsedMillis),
+                            millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                            millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                            millis(latency.getMaxValue()));
+                });
+    }
+
+    private Operation operation(String name) {
+        return operations.computeIfAbsent(name, key -> new Operation());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Operation {
+        final Histogram latency = new ConcurrentHistogram(MAX_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder throttled = new LongAdder();
+    }
+}
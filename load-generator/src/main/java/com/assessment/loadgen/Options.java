@@ -0,0 +1,62 @@
+package com.assessment.loadgen;
+
+import java.time.Duration;
+
+/**
+ * Command-line settings, as --name=value pairs.
+ *
+ * @param baseUrl        the instance under test, e.g. http://localhost:8080
+ * @param students       virtual students, each on its own thread
+ * @param duration       how long students keep polling after they have logged in
+ * @param pollInterval   mean gap between one student's GET /api/questions calls (jittered by ±20%)
+ * @param releaseIn      when positive, a throwaway question is created that releases this long after the start
+ * @param username       admin account that creates and deletes the test question
+ * @param password       its password
+ */
+public record Options(String baseUrl, int students, Duration duration, Duration pollInterval,
+        Duration releaseIn, String username, String password) {
+
+    static final String USAGE = String.join("\n",
+            "usage: java -jar load-generator.jar [--base-url=http://localhost:8080] [--students=200]",
+            "       [--duration-seconds=60] [--poll-interval-ms=5000] [--release-in-seconds=20]",
+            "       [--username=heramb] [--password=123456]",
+            "",
+            "Every student signs in with a Student ID new to this run (POST /api/auth/student, then",
+            "GET /api/auth/check) at the same moment, then polls GET /api/questions and fetches",
+            "GET /api/questions/{id} for each question it sees unlock. With --release-in-seconds > 0",
+            "the admin account creates a test question to release mid-run and deletes it afterwards.");
+
+    static Options parse(String[] args) {
+        String baseUrl = "http://localhost:8080";
+        int students = 200;
+        long durationSeconds = 60;
+        long pollIntervalMs = 5000;
+        long releaseInSeconds = 20;
+        String username = "heramb";
+        String password = "123456";
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Unrecognized argument: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "base-url" -> baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "students" -> students = Integer.parseInt(value);
+                case "duration-seconds" -> durationSeconds = Long.parseLong(value);
+                case "poll-interval-ms" -> pollIntervalMs = Long.parseLong(value);
+                case "release-in-seconds" -> releaseInSeconds = Long.parseLong(value);
+                case "username" -> username = value;
+                case "password" -> password = value;
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        if (students < 1 || durationSeconds < 1 || pollIntervalMs < 1) {
+            throw new IllegalArgumentException("students, duration and poll interval must be positive");
+        }
+        return new Options(baseUrl, students, Duration.ofSeconds(durationSeconds), Duration.ofMillis(pollIntervalMs),
+                Duration.ofSeconds(Math.max(0, releaseInSeconds)), username, password);
+    }
+}
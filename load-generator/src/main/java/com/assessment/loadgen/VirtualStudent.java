@@ -0,0 +1,154 @@
+package com.assessment.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One student's session: sign in with its own Student ID as soon as the
+ * start gate opens (so, as in a lab behind one address, every student has
+ * its own rate-limit bucket), check the session, then poll the question list the way the dashboard does (with
+ * If-None-Match, as a browser revalidates) and open every question that
+ * unlocks while it watches.
+ */
+final class VirtualStudent implements Runnable {
+
+    private static final int MAX_LOGIN_ATTEMPTS = 10;
+
+    private final Api api;
+    private final ObjectMapper objectMapper;
+    private final Metrics metrics;
+    private final Options options;
+    private final String studentId;
+    private final CountDownLatch startGate;
+    private final long deadlineMillis;
+    private final long releasedQuestionId;
+    private final long releaseMillis;
+
+    private String cookies;
+
+    VirtualStudent(Api api, ObjectMapper objectMapper, Metrics metrics, Options options, String studentId,
+            CountDownLatch startGate, long deadlineMillis, long releasedQuestionId, long releaseMillis) {
+        this.api = api;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.options = options;
+        this.studentId = studentId;
+        this.startGate = startGate;
+        this.deadlineMillis = deadlineMillis;
+        this.releasedQuestionId = releasedQuestionId;
+        this.releaseMillis = releaseMillis;
+    }
+
+    @Override
+    public void run() {
+        try {
+            startGate.await();
+            login();
+            poll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void login() throws InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode().put("studentId", studentId);
+
+        for (int attempt = 1; attempt <= MAX_LOGIN_ATTEMPTS; attempt++) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = api.post("/api/auth/student", null, body.toString());
+                metrics.record("POST /auth/student", start, response.statusCode());
+                if (response.statusCode() == 429) {
+                    // Back off as the server asks, like the login page does
+                    long retryAfter = response.headers().firstValueAsLong("retry-after").orElse(1);
+                    Thread.sleep(retryAfter * 1000 + ThreadLocalRandom.current().nextLong(250));
+                    continue;
+                }
+                if (response.statusCode() == 200) {
+                    cookies = Api.cookiesFrom(response);
+                    check();
+                }
+                return;
+            } catch (IOException e) {
+                metrics.record("POST /auth/student", start, -1);
+                return;
+            }
+        }
+    }
+
+    private void check() throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = api.get("/api/auth/check", cookies, null);
+            metrics.record("GET /auth/check", start, response.statusCode());
+        } catch (IOException e) {
+            metrics.record("GET /auth/check", start, -1);
+        }
+    }
+
+    private void poll() throws InterruptedException {
+        long interval = options.pollInterval().toMillis();
+        // Students open the page at different moments, so their polls do not line up
+        Thread.sleep(ThreadLocalRandom.current().nextLong(interval));
+
+        String eTag = null;
+        Set<Long> unlocked = null;
+        while (System.currentTimeMillis() < deadlineMillis) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = api.get("/api/questions", cookies, eTag);
+                metrics.record("GET /questions", start, response.statusCode());
+
+                if (response.statusCode() == 200) {
+                    eTag = response.headers().firstValue("etag").orElse(null);
+                    Set<Long> nowUnlocked = unlockedIds(response.body());
+                    if (unlocked != null) {
+                        for (Long id : nowUnlocked) {
+                            if (!unlocked.contains(id)) {
+                                opened(id);
+                            }
+                        }
+                    }
+                    unlocked = nowUnlocked;
+                }
+            } catch (IOException e) {
+                metrics.record("GET /questions", start, -1);
+            }
+
+            long jitter = interval / 5;
+            Thread.sleep(interval - jitter + ThreadLocalRandom.current().nextLong(2 * jitter + 1));
+        }
+    }
+
+    // A question this student just saw unlock: open it, as clicking it in the list would
+    private void opened(Long id) throws InterruptedException {
+        if (id == releasedQuestionId) {
+            metrics.recordDelay("release -> seen", System.currentTimeMillis() - releaseMillis);
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = api.get("/api/questions/" + id, cookies, null);
+            metrics.record("GET /questions/{id}", start, response.statusCode());
+        } catch (IOException e) {
+            metrics.record("GET /questions/{id}", start, -1);
+        }
+    }
+
+    private Set<Long> unlockedIds(String body) throws IOException {
+        Set<Long> ids = new HashSet<>();
+        for (JsonNode question : objectMapper.readTree(body)) {
+            if (question.path("unlocked").asBoolean()) {
+                ids.add(question.path("id").asLong());
+            }
+        }
+        return ids;
+    }
+}